@@ -6,13 +6,19 @@ export default function NotificationBell() {
 
   useEffect(() => {
     const fetchUnreadCount = () => {
-      axios.get('/api/notifications/count/unread')
-        .then(r => setUnreadCount(r.data.unreadCount))
+      axios.get('/api/me/badges')
+        .then(r => setUnreadCount(r.data.notifications))
         .catch(() => {})
     }
+    // Counts are pushed as BADGES events; the slow poll only covers missed pushes
+    const onBadges = (e: Event) => setUnreadCount((e as CustomEvent).detail.notifications)
     fetchUnreadCount()
-    const interval = setInterval(fetchUnreadCount, 30000) // Poll every 30s
-    return () => clearInterval(interval)
+    window.addEventListener('gigfinder:badges', onBadges)
+    const interval = setInterval(fetchUnreadCount, 300000) // Poll every 5 min
+    return () => {
+      window.removeEventListener('gigfinder:badges', onBadges)
+      clearInterval(interval)
+    }
   }, [])
 
   return (
@@ -1,6 +1,7 @@
 import { useEffect, useRef, useState } from 'react'
-import { Client } from '@stomp/stompjs'
+import { Client, StompSubscription } from '@stomp/stompjs'
 import SockJS from 'sockjs-client'
+import axios from 'axios'
 import { useToast } from './useToast'
 
 interface Notification {
@@ -9,15 +10,76 @@ interface Notification {
   timestamp: number
 }
 
-export function useWebSocket(userId?: string) {
+interface Replay {
+  stream: number
+  latestSeq: number
+  events: { seq: number; event: Notification }[]
+  resync: boolean
+  notifications: { id: number; title: string; message: string }[]
+}
+
+// Position in the user's event stream, used to replay what was missed while disconnected
+interface StreamPosition {
+  stream?: number
+  seq: number
+  since?: number
+}
+
+interface JobCells {
+  precision: number
+  topics: string[]
+  latitude: number
+  longitude: number
+  radiusKm: number
+}
+
+// Great-circle distance in km, matching GeoUtils on the server
+function distanceKm(lat1: number, lng1: number, lat2: number, lng2: number) {
+  const toRad = (deg: number) => (deg * Math.PI) / 180
+  const dLat = toRad(lat2 - lat1)
+  const dLng = toRad(lng2 - lng1)
+  const a = Math.sin(dLat / 2) ** 2 + Math.cos(toRad(lat1)) * Math.cos(toRad(lat2)) * Math.sin(dLng / 2) ** 2
+  return 6371 * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a))
+}
+
+export function useWebSocket(userId?: string, isWorker = false) {
   const [client, setClient] = useState<Client | null>(null)
   const [connected, setConnected] = useState(false)
   const { info, success } = useToast()
   const clientRef = useRef<Client | null>(null)
+  const positionRef = useRef<StreamPosition>({ seq: 0 })
+  const areaRef = useRef<JobCells | null>(null)
+  const cellSubscriptionsRef = useRef<Map<string, StompSubscription>>(new Map())
+  // A job can arrive on a cell topic and, for top-ranked workers, on the user topic too
+  const seenJobsRef = useRef<Set<number>>(new Set())
 
   useEffect(() => {
     if (!userId) return
 
+    // Subscribes to the worker's current cells, dropping cells that no longer cover the area
+    const loadJobCells = () => {
+      axios.get<JobCells>('/api/workers/me/job-cells').then(({ data }) => {
+        areaRef.current = data
+        const subscriptions = cellSubscriptionsRef.current
+        subscriptions.forEach((subscription, topic) => {
+          if (!data.topics.includes(topic)) {
+            subscription.unsubscribe()
+            subscriptions.delete(topic)
+          }
+        })
+        data.topics.filter((topic) => !subscriptions.has(topic)).forEach((topic) => {
+          subscriptions.set(topic, stompClient.subscribe(topic, (message) => {
+            const notification: Notification = JSON.parse(message.body)
+            const area = areaRef.current
+            // Cells over-cover the radius, so jobs outside it are dropped here
+            if (!area || distanceKm(area.latitude, area.longitude,
+                notification.data.latitude, notification.data.longitude) > area.radiusKm) return
+            handleNotification(notification)
+          }))
+        })
+      }).catch((error) => console.error('Failed to load job cells:', error))
+    }
+
     const stompClient = new Client({
       webSocketFactory: () => new SockJS('/ws'),
       onConnect: () => {
@@ -26,8 +88,46 @@ export function useWebSocket(userId?: string) {
         // Subscribe to user-specific notifications
         stompClient.subscribe(`/topic/user/${userId}`, (message) => {
           const notification: Notification = JSON.parse(message.body)
+          const stream = Number(message.headers['stream'])
+          const seq = Number(message.headers['seq'])
+          if (seq) {
+            const position = positionRef.current
+            // Already delivered by a replay
+            if (stream === position.stream && seq <= position.seq) return
+            positionRef.current = { stream, seq, since: notification.timestamp }
+          }
           handleNotification(notification)
         })
+
+        // Catch up on events pushed while disconnected, after subscribing so none fall in between
+        const { stream, seq, since } = positionRef.current
+        axios.get<Replay>('/api/notifications/replay', { params: { stream, afterSeq: seq, since } })
+          .then(({ data }) => {
+            const position = positionRef.current
+            if (data.resync) {
+              data.notifications.forEach((n) => info(n.title, n.message))
+            } else {
+              data.events
+                .filter((e) => data.stream !== position.stream || e.seq > position.seq)
+                .forEach((e) => handleNotification(e.event))
+            }
+            if (data.stream !== position.stream || data.latestSeq > position.seq) {
+              const last = data.events[data.events.length - 1]
+              positionRef.current = {
+                stream: data.stream,
+                seq: data.latestSeq,
+                since: last ? last.event.timestamp : position.since ?? Date.now()
+              }
+            }
+          })
+          .catch((error) => console.error('Failed to replay notifications:', error))
+
+        // New jobs are broadcast to geo-cell topics covering the worker's service area
+        if (isWorker) {
+          // Subscriptions do not survive a reconnect
+          cellSubscriptionsRef.current.clear()
+          loadJobCells()
+        }
       },
       onDisconnect: () => {
         setConnected(false)
@@ -37,16 +137,23 @@ export function useWebSocket(userId?: string) {
       }
     })
 
+    // Sent when the worker's location or radius changes
+    const onAreaChanged = () => {
+      if (isWorker && stompClient.connected) loadJobCells()
+    }
+    window.addEventListener('gigfinder:job-cells', onAreaChanged)
+
     stompClient.activate()
     setClient(stompClient)
     clientRef.current = stompClient
 
     return () => {
+      window.removeEventListener('gigfinder:job-cells', onAreaChanged)
       if (clientRef.current) {
         clientRef.current.deactivate()
       }
     }
-  }, [userId])
+  }, [userId, isWorker])
 
   const handleNotification = (notification: Notification) => {
     switch (notification.type) {
@@ -59,9 +166,21 @@ export function useWebSocket(userId?: string) {
       case 'JOB_COMPLETED':
         success('Job Completed!', notification.data.message)
         break
-      case 'NEW_JOB':
+      case 'NEW_JOB': {
+        const seen = seenJobsRef.current
+        if (seen.has(notification.data.jobId)) break
+        if (seen.size >= 500) seen.clear()
+        seen.add(notification.data.jobId)
         info('New Job Available', notification.data.message)
         break
+      }
+      case 'JOB_CELLS_CHANGED':
+        window.dispatchEvent(new Event('gigfinder:job-cells'))
+        break
+      case 'BADGES':
+        // Unread counts changed; NotificationBell listens for this instead of polling
+        window.dispatchEvent(new CustomEvent('gigfinder:badges', { detail: notification.data }))
+        break
       default:
         info('Notification', notification.data.message || 'You have a new notification')
     }
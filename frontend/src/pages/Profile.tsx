@@ -11,7 +11,7 @@ export default function Profile() {
   const [payments, setPayments] = useState<Payment[]>([])
 
   useEffect(() => {
-    axios.get('/api/jobs/me').then(r => setJobs(r.data)).catch(()=>{})
+    axios.get('/api/jobs/me').then(r => setJobs(r.data.items)).catch(()=>{})
     axios.get('/api/payments/client').then(r => setPayments(r.data)).catch(()=>{})
   }, [])
 
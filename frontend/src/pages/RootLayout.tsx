@@ -8,7 +8,7 @@ import LanguageSelector from '../components/LanguageSelector'
 export default function RootLayout() {
   const navigate = useNavigate()
   const { user, token, logout } = useAuth()
-  const { connected } = useWebSocket(user?.id?.toString())
+  const { connected } = useWebSocket(user?.id?.toString(), user?.role === 'WORKER')
 
   return (
     <div className="min-h-screen flex flex-col">
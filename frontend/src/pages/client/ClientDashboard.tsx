@@ -23,7 +23,7 @@ export default function ClientDashboard() {
     // Fetch comprehensive job categories
     axios.get('/api/jobs/categories').then(r => setJobCategories(r.data)).catch(() => {})
     if (token) axios.defaults.headers.common['Authorization'] = `Bearer ${token}`
-    axios.get('/api/jobs/me').then(r => setJobs(r.data)).catch(()=>{})
+    axios.get('/api/jobs/me').then(r => setJobs(r.data.items)).catch(()=>{})
   }, [])
 
   const postJob = async () => {
@@ -28,10 +28,10 @@ export default function WorkerDashboard() {
     const fetchJobs = () => {
       // Fetch jobs near worker's location based on their radius
       axios.get('/api/jobs/worker/nearby').then(r => {
-        setJobs(r.data)
-        setFilteredJobs(r.data)
+        setJobs(r.data.items)
+        setFilteredJobs(r.data.items)
       }).catch(()=>{})
-      axios.get('/api/jobs/me').then(r => setMyJobs(r.data)).catch(()=>{})
+      axios.get('/api/jobs/me').then(r => setMyJobs(r.data.items)).catch(()=>{})
       // Fetch categories
       axios.get('/api/jobs/categories').then(r => {
         const allCategories = Object.values(r.data).flat() as string[]
@@ -43,10 +43,10 @@ export default function WorkerDashboard() {
 
   const refreshJobs = () => {
     axios.get('/api/jobs/worker/nearby').then(r => {
-      setJobs(r.data)
-      setFilteredJobs(r.data)
+      setJobs(r.data.items)
+      setFilteredJobs(r.data.items)
     }).catch(()=>{})
-    axios.get('/api/jobs/me').then(r => setMyJobs(r.data)).catch(()=>{})
+    axios.get('/api/jobs/me').then(r => setMyJobs(r.data.items)).catch(()=>{})
   }
 
   const handleFilterChange = (filters: JobFiltersType) => {
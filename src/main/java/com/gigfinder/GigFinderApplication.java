@@ -2,8 +2,10 @@ package com.gigfinder;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class GigFinderApplication {
     public static void main(String[] args) {
         SpringApplication.run(GigFinderApplication.class, args);
@@ -0,0 +1,43 @@
+package com.gigfinder.config;
+
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * In-process Artemis broker with a STOMP acceptor, standing in for the external broker
+ * when the relay runs on a single machine. Nothing is persisted and security is off,
+ * so it is only for local runs and tests; Artemis is only on the classpath in builds
+ * with the {@code embedded-broker} Maven profile.
+ */
+@Configuration
+@ConditionalOnClass(name = "org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ")
+@ConditionalOnProperty(name = "gigfinder.websocket.embedded-broker.enabled", havingValue = "true")
+public class EmbeddedStompBrokerConfig {
+
+    // Started during context refresh, before the relay opens its connections
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public EmbeddedActiveMQ embeddedStompBroker(WebSocketBrokerProperties properties) throws Exception {
+        WebSocketBrokerProperties.EmbeddedBroker broker = properties.getEmbeddedBroker();
+        Path dataDirectory = Path.of(System.getProperty("java.io.tmpdir"), "gigfinder-artemis");
+
+        ConfigurationImpl configuration = new ConfigurationImpl();
+        configuration.setName("gigfinder-embedded");
+        configuration.setPersistenceEnabled(false);
+        configuration.setSecurityEnabled(false);
+        configuration.setJMXManagementEnabled(false);
+        configuration.setBrokerInstance(dataDirectory.toFile());
+        // /topic destinations fan out to every subscriber, /queue destinations to one
+        configuration.addAcceptorConfiguration("stomp", "tcp://" + broker.getHost() + ":" + broker.getPort()
+                + "?protocols=STOMP;multicastPrefix=/topic/;anycastPrefix=/queue/");
+
+        EmbeddedActiveMQ server = new EmbeddedActiveMQ();
+        server.setConfiguration(configuration);
+        return server;
+    }
+}
@@ -0,0 +1,49 @@
+package com.gigfinder.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class PersistenceConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+
+    // Static so wrapping the DataSource does not pull this configuration in early
+    @Bean
+    public static BeanPostProcessor connectionGuardPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource
+                        || !environment.getProperty("gigfinder.persistence.connection-guard.enabled", Boolean.class, true)) {
+                    return bean;
+                }
+                int permits = environment.getProperty("gigfinder.persistence.connection-guard.permits", Integer.class,
+                        environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                long timeoutMillis = environment.getProperty(
+                        "gigfinder.persistence.connection-guard.acquire-timeout-millis", Long.class, 30000L);
+                return new ConnectionLimitingDataSource(dataSource, permits, timeoutMillis);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionGuardMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConnectionLimitingDataSource guard) {
+                guard.bindTo(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.gigfinder.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Route classes for {@link com.gigfinder.security.RateLimitFilter}. A request is limited
+ * by the first class with a matching pattern; unmatched requests are not limited.
+ */
+@Component
+@ConfigurationProperties(prefix = "gigfinder.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Buckets untouched this long are full again and dropped
+    private long idleEvictionSeconds = 600;
+
+    private List<RouteClass> routes = new ArrayList<>();
+
+    @Data
+    public static class RouteClass {
+        private String name;
+        // Ant-style path patterns, e.g. /api/admin/**
+        private List<String> patterns = new ArrayList<>();
+        // Burst size
+        private int capacity;
+        // Sustained rate
+        private int refillPerMinute;
+    }
+}
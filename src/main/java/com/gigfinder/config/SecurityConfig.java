@@ -1,8 +1,11 @@
 package com.gigfinder.config;
 
 import com.gigfinder.security.JwtAuthenticationFilter;
+import com.gigfinder.security.RateLimitFilter;
 import com.gigfinder.service.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -18,16 +21,30 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    // The rate limiter runs inside the security chain only, after the principal is resolved
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
           .csrf(csrf -> csrf.disable())
           .userDetailsService(userDetailsService) // ➤ this tells Spring to use your UserDetailsService
           .authorizeHttpRequests(auth -> auth
+              // Async dispatches resume requests that were already authorized, e.g. SSE streams
+              .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
               .requestMatchers("/api/auth/**","/api/categories/**").permitAll()
+              .requestMatchers(HttpMethod.GET, "/api/jobs/*/matches").authenticated()
               .requestMatchers(HttpMethod.GET, "/api/jobs/**").permitAll()
               .requestMatchers(HttpMethod.GET, "/api/jobs").permitAll()
               .requestMatchers(HttpMethod.GET, "/api/jobs/me").authenticated()
@@ -40,6 +57,7 @@ public class SecurityConfig {
                           .requestMatchers(HttpMethod.POST, "/api/jobs/reports").authenticated()
                           .requestMatchers(HttpMethod.GET, "/api/notifications/**").authenticated()
                           .requestMatchers(HttpMethod.PUT, "/api/notifications/**").authenticated()
+                          .requestMatchers(HttpMethod.GET, "/api/me/badges").authenticated()
                           .requestMatchers(HttpMethod.GET, "/api/jobs/ratings").authenticated()
                           .requestMatchers(HttpMethod.POST, "/api/payments").authenticated()
                           .requestMatchers(HttpMethod.PUT, "/api/payments/**").authenticated()
@@ -65,6 +83,7 @@ public class SecurityConfig {
                           // Worker endpoints
                           .requestMatchers(HttpMethod.GET, "/api/workers").permitAll()
                           .requestMatchers(HttpMethod.GET, "/api/workers/me").authenticated()
+                          .requestMatchers(HttpMethod.GET, "/api/workers/me/job-cells").authenticated()
                           .requestMatchers(HttpMethod.PUT, "/api/workers/verification").authenticated()
                           .requestMatchers(HttpMethod.PUT, "/api/workers/availability").authenticated()
                           .requestMatchers(HttpMethod.GET, "/api/workers/available").permitAll()
@@ -75,9 +94,13 @@ public class SecurityConfig {
                           .requestMatchers(HttpMethod.GET, "/api/wallet/transactions").authenticated()
                           // Admin endpoints (restricted to admin users)
                           .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                          // Actuator: health is public, metrics are admin only
+                          .requestMatchers("/actuator/health").permitAll()
+                          .requestMatchers("/actuator/**").hasRole("ADMIN")
                           .anyRequest().authenticated()
           )
-          .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+          .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+          .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
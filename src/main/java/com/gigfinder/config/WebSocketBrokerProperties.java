@@ -0,0 +1,72 @@
+package com.gigfinder.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * STOMP broker settings for {@link WebSocketConfig}. In {@code simple} mode subscriptions
+ * live on this node's heap; in {@code relay} mode every node relays to one external
+ * broker, so a push produced on any node reaches clients connected to any other.
+ */
+@Component
+@ConfigurationProperties(prefix = "gigfinder.websocket")
+@Data
+public class WebSocketBrokerProperties {
+
+    public enum Mode {
+        SIMPLE, RELAY
+    }
+
+    private Mode mode = Mode.SIMPLE;
+
+    // Heartbeats in milliseconds; the simple broker uses them with clients, the relay on its system connection
+    private long heartbeatSendIntervalMillis = 10000;
+    private long heartbeatReceiveIntervalMillis = 10000;
+
+    private Relay relay = new Relay();
+    private EmbeddedBroker embeddedBroker = new EmbeddedBroker();
+    private ChannelExecutor inbound = new ChannelExecutor();
+    private ChannelExecutor outbound = new ChannelExecutor();
+    private Transport transport = new Transport();
+
+    @Data
+    public static class Relay {
+        private String host = "localhost";
+        private int port = 61613;
+        private String virtualHost;
+        // Credentials for client sessions
+        private String clientLogin = "guest";
+        private String clientPasscode = "guest";
+        // Credentials for the shared connection the application publishes on
+        private String systemLogin = "guest";
+        private String systemPasscode = "guest";
+    }
+
+    @Data
+    public static class EmbeddedBroker {
+        // Starts an in-process STOMP broker for relay mode on one machine
+        private boolean enabled = false;
+        private String host = "localhost";
+        private int port = 61613;
+    }
+
+    @Data
+    public static class ChannelExecutor {
+        private int corePoolSize = Runtime.getRuntime().availableProcessors() * 2;
+        private int maxPoolSize = Runtime.getRuntime().availableProcessors() * 2;
+        // Bounded so a burst queues up to this many messages instead of growing the heap
+        private int queueCapacity = 10000;
+        private int keepAliveSeconds = 60;
+    }
+
+    @Data
+    public static class Transport {
+        // A session whose sends stay blocked this long, or buffer more than this, is closed
+        private int sendTimeLimitMillis = 15000;
+        private int sendBufferSizeLimitBytes = 512 * 1024;
+        private int messageSizeLimitBytes = 64 * 1024;
+        // Connections that send no CONNECT frame within this time are closed
+        private int timeToFirstMessageMillis = 60000;
+    }
+}
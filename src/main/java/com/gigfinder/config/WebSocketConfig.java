@@ -1,18 +1,56 @@
 package com.gigfinder.config;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final WebSocketBrokerProperties properties;
+
+    private TaskScheduler heartbeatScheduler;
+
+    // Lazy because the scheduler is defined by the broker configuration this class feeds
+    @Autowired
+    public void setHeartbeatScheduler(@Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler heartbeatScheduler) {
+        this.heartbeatScheduler = heartbeatScheduler;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic", "/queue");
+        long[] heartbeat = {properties.getHeartbeatSendIntervalMillis(), properties.getHeartbeatReceiveIntervalMillis()};
+        if (properties.getMode() == WebSocketBrokerProperties.Mode.RELAY) {
+            WebSocketBrokerProperties.Relay relay = properties.getRelay();
+            StompBrokerRelayRegistration registration = config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relay.getHost())
+                    .setRelayPort(relay.getPort())
+                    .setClientLogin(relay.getClientLogin())
+                    .setClientPasscode(relay.getClientPasscode())
+                    .setSystemLogin(relay.getSystemLogin())
+                    .setSystemPasscode(relay.getSystemPasscode())
+                    .setSystemHeartbeatSendInterval(heartbeat[0])
+                    .setSystemHeartbeatReceiveInterval(heartbeat[1]);
+            if (relay.getVirtualHost() != null) {
+                registration.setVirtualHost(relay.getVirtualHost());
+            }
+        } else {
+            config.enableSimpleBroker("/topic", "/queue")
+                    .setHeartbeatValue(heartbeat)
+                    .setTaskScheduler(heartbeatScheduler);
+        }
         config.setApplicationDestinationPrefixes("/app");
     }
 
@@ -22,4 +60,33 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        configureExecutor(registration, properties.getInbound());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        configureExecutor(registration, properties.getOutbound());
+    }
+
+    // Slow clients are cut off once their send buffer or send time limit is exceeded
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        WebSocketBrokerProperties.Transport transport = properties.getTransport();
+        registration.setSendTimeLimit(transport.getSendTimeLimitMillis())
+                .setSendBufferSizeLimit(transport.getSendBufferSizeLimitBytes())
+                .setMessageSizeLimit(transport.getMessageSizeLimitBytes())
+                .setTimeToFirstMessage(transport.getTimeToFirstMessageMillis());
+    }
+
+    private static void configureExecutor(ChannelRegistration registration,
+                                          WebSocketBrokerProperties.ChannelExecutor executor) {
+        registration.taskExecutor()
+                .corePoolSize(executor.getCorePoolSize())
+                .maxPoolSize(Math.max(executor.getMaxPoolSize(), executor.getCorePoolSize()))
+                .queueCapacity(executor.getQueueCapacity())
+                .keepAliveSeconds(executor.getKeepAliveSeconds());
+    }
 }
@@ -8,6 +8,8 @@ import com.gigfinder.repository.JobRepository;
 import com.gigfinder.repository.UserRepository;
 import com.gigfinder.repository.WorkerProfileRepository;
 import com.gigfinder.repository.DocumentRepository;
+import com.gigfinder.security.UserCache;
+import com.gigfinder.service.WorkerRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -36,6 +38,12 @@ public class AdminController {
     @Autowired
     private DocumentRepository documentRepository;
 
+    @Autowired
+    private WorkerRegistry workerRegistry;
+
+    @Autowired
+    private UserCache userCache;
+
     @GetMapping("/dashboard")
     public ResponseEntity<Map<String, Object>> getDashboardStats() {
         try {
@@ -98,6 +106,7 @@ public class AdminController {
             // ✅ Add a ban flag if your User entity has one (example: user.setBanned(true))
             // user.setBanned(true);
             // userRepository.save(user);
+            userCache.invalidate(userId);
 
             Map<String, Object> response = new HashMap<>();
             response.put("message", "User banned successfully");
@@ -116,6 +125,7 @@ public class AdminController {
 
             // ✅ Unban logic here (example: user.setBanned(false))
             // userRepository.save(user);
+            userCache.invalidate(userId);
 
             Map<String, Object> response = new HashMap<>();
             response.put("message", "User unbanned successfully");
@@ -193,7 +203,7 @@ public class AdminController {
                     .orElseThrow(() -> new RuntimeException("Worker not found"));
 
             worker.setVerificationStatus(VerificationStatus.VERIFIED);
-            workerProfileRepository.save(worker);
+            workerRegistry.register(workerProfileRepository.save(worker));
 
             List<Document> documents = documentRepository.findByWorker(worker);
             documents.forEach(doc -> {
@@ -217,7 +227,7 @@ public class AdminController {
                     .orElseThrow(() -> new RuntimeException("Worker not found"));
 
             worker.setVerificationStatus(VerificationStatus.REJECTED);
-            workerProfileRepository.save(worker);
+            workerRegistry.register(workerProfileRepository.save(worker));
 
             String reason = request.get("reason");
 
@@ -10,18 +10,22 @@ import com.gigfinder.model.enums.VerificationStatus;
 import com.gigfinder.repository.ClientProfileRepository;
 import com.gigfinder.repository.UserRepository;
 import com.gigfinder.repository.WorkerProfileRepository;
+import com.gigfinder.security.CurrentUser;
 import com.gigfinder.service.OtpService;
+import com.gigfinder.service.PasswordHashingService;
+import com.gigfinder.service.WorkerRegistry;
 import com.gigfinder.util.JwtUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -33,8 +37,9 @@ public class AuthController {
     private final ClientProfileRepository clientProfileRepository;
     private final WorkerProfileRepository workerProfileRepository;
     private final JwtUtil jwtUtil;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final OtpService otpService;
+    private final WorkerRegistry workerRegistry;
 
     @PostMapping("/register")
     public ResponseEntity<?> register(@Valid @RequestBody RegisterDTO dto) {
@@ -52,7 +57,7 @@ public class AuthController {
                     .name(dto.getName())
                     .email(dto.getEmail())
                     .phone(dto.getPhone())
-                    .passwordHash(passwordEncoder.encode(dto.getPassword()))
+                    .passwordHash(passwordHashingService.encode(dto.getPassword()))
                     .role(dto.getRole())  // Use the role from DTO
                     .build();
 
@@ -87,7 +92,7 @@ public class AuthController {
                         .panNumber(dto.getPanNumber())
                         .address(dto.getAddress())
                         .build();
-                workerProfileRepository.save(workerProfile);
+                workerRegistry.register(workerProfileRepository.save(workerProfile));
             }
 
             // Response
@@ -100,6 +105,11 @@ public class AuthController {
 
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
 
+        } catch (RejectedExecutionException e) {
+            // Password hashing pool saturated; shed load instead of queueing request threads
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", "Registration failed", "message", "Server busy, please retry shortly"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error","Registration failed","message", e.getMessage()));
@@ -112,12 +122,22 @@ public class AuthController {
             User user = userRepository.findByEmail(dto.getEmail())
                     .orElseThrow(() -> new RuntimeException("User not found with email: " + dto.getEmail()));
 
-            if (!passwordEncoder.matches(dto.getPassword(), user.getPasswordHash())) {
+            PasswordHashingService.MatchResult match = passwordHashingService.matches(dto.getPassword(), user.getPasswordHash());
+            if (!match.matches()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(Map.of("error","Authentication failed","message","Invalid email or password"));
             }
+            if (match.upgradedHash() != null) {
+                // Stored with an older BCrypt cost; swap in the stronger hash
+                user.setPasswordHash(match.upgradedHash());
+                userRepository.save(user);
+            }
 
-            String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
+            String token = jwtUtil.generateToken(new CurrentUser(
+                    user.getId(), user.getEmail(), user.getRole(),
+                    workerProfileRepository.findIdByUserId(user.getId()).orElse(null),
+                    clientProfileRepository.findIdByUserId(user.getId()).orElse(null),
+                    null));
 
             return ResponseEntity.ok(
                     Map.of(
@@ -127,6 +147,11 @@ public class AuthController {
                     )
             );
 
+        } catch (RejectedExecutionException e) {
+            // Password hashing pool saturated; shed load instead of queueing request threads
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", "Login failed", "message", "Server busy, please retry shortly"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error","Login failed","message", e.getMessage()));
@@ -137,11 +162,20 @@ public class AuthController {
     public ResponseEntity<?> sendOtp(@RequestBody Map<String, String> request) {
         try {
             String phoneNumber = request.get("phoneNumber");
-            String otp = otpService.generateOtp(phoneNumber);
+            if (!isValidPhoneNumber(phoneNumber)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(Map.of("error", "Invalid phone number"));
+            }
+
+            Optional<String> otp = otpService.generateOtp(phoneNumber);
+            if (otp.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .body(Map.of("error", "Too many OTP requests, please try again later"));
+            }
             
             return ResponseEntity.ok(Map.of(
                 "message", "OTP sent successfully",
-                "otp", otp // In production, don't return OTP in response
+                "otp", otp.get() // In production, don't return OTP in response
             ));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -154,18 +188,28 @@ public class AuthController {
         try {
             String phoneNumber = request.get("phoneNumber");
             String otp = request.get("otp");
-            
-            boolean isValid = otpService.verifyOtp(phoneNumber, otp);
-            
-            if (isValid) {
-                return ResponseEntity.ok(Map.of("message", "OTP verified successfully"));
-            } else {
+            if (!isValidPhoneNumber(phoneNumber)) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(Map.of("error", "Invalid OTP"));
+                        .body(Map.of("error", "Invalid phone number"));
             }
+            
+            return switch (otpService.verifyOtp(phoneNumber, otp)) {
+                case VERIFIED -> ResponseEntity.ok(Map.of("message", "OTP verified successfully"));
+                case EXPIRED -> ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(Map.of("error", "OTP expired"));
+                case LOCKED -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .body(Map.of("error", "Too many failed attempts, please try again later"));
+                default -> ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(Map.of("error", "Invalid OTP"));
+            };
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "OTP verification failed", "message", e.getMessage()));
         }
     }
+
+    // Matches the users.phone and otp_codes.phone_number column width
+    private static boolean isValidPhoneNumber(String phoneNumber) {
+        return phoneNumber != null && !phoneNumber.isBlank() && phoneNumber.length() <= 20;
+    }
 }
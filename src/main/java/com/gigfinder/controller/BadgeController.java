@@ -0,0 +1,29 @@
+package com.gigfinder.controller;
+
+import com.gigfinder.security.CurrentUser;
+import com.gigfinder.service.BadgeService;
+import com.gigfinder.service.UnreadCounters;
+import com.gigfinder.util.SecurityUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/me")
+@RequiredArgsConstructor
+public class BadgeController {
+
+    private final BadgeService badgeService;
+
+    // Both unread counts in one call; later changes arrive as BADGES events on the user topic
+    @GetMapping("/badges")
+    public ResponseEntity<UnreadCounters.Badges> getBadges() {
+        CurrentUser user = SecurityUtil.getCurrentUser();
+        if (user == null) {
+            return ResponseEntity.status(401).build();
+        }
+        return ResponseEntity.ok(badgeService.getBadges(user.getUserId()));
+    }
+}
@@ -2,6 +2,7 @@ package com.gigfinder.controller;
 
 import com.gigfinder.dto.*;
 import com.gigfinder.service.JobService;
+import com.gigfinder.service.WorkerMatchingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -9,7 +10,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -19,6 +19,7 @@ import java.util.Map;
 public class JobController {
 
     private final JobService jobService;
+    private final WorkerMatchingService workerMatchingService;
 
     @PostMapping
     public ResponseEntity<JobResponseDTO> createJob(@Valid @RequestBody JobRequestDTO request) {
@@ -32,14 +33,23 @@ public class JobController {
     }
 
     @GetMapping
-    public ResponseEntity<List<JobResponseDTO>> getAllOpenJobs() {
-        return ResponseEntity.ok(jobService.getAllOpenJobs());
+    public ResponseEntity<?> getAllOpenJobs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(jobService.getAllOpenJobs(cursor, size));
+        } catch (Exception e) {
+            log.error("Error fetching open jobs", e);
+            return buildErrorResponse(e);
+        }
     }
 
     @GetMapping("/me")
-    public ResponseEntity<?> getMyJobs() {
+    public ResponseEntity<?> getMyJobs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            return ResponseEntity.ok(jobService.getMyJobs());
+            return ResponseEntity.ok(jobService.getMyJobs(cursor, size));
         } catch (Exception e) {
             log.error("Error fetching my jobs", e);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -58,6 +68,18 @@ public class JobController {
         }
     }
 
+    @GetMapping("/{id}/matches")
+    public ResponseEntity<?> getWorkerMatches(@PathVariable Long id,
+                                              @RequestParam(defaultValue = "10") int limit) {
+        try {
+            int k = Math.max(1, Math.min(limit, WorkerMatchingService.MAX_MATCHES));
+            return ResponseEntity.ok(workerMatchingService.findMatches(id, k));
+        } catch (Exception e) {
+            log.error("Error matching workers for job {}", id, e);
+            return buildErrorResponse(e);
+        }
+    }
+
     @PutMapping("/{id}/accept")
     public ResponseEntity<?> acceptJob(@PathVariable Long id) {
         return handleJobAction(id, jobService::acceptJob, "accepting");
@@ -99,9 +121,11 @@ public class JobController {
     public ResponseEntity<?> getNearbyJobs(
             @RequestParam Double latitude,
             @RequestParam Double longitude,
-            @RequestParam(defaultValue = "10.0") Double radiusKm) {
+            @RequestParam(defaultValue = "10.0") Double radiusKm,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            return ResponseEntity.ok(jobService.getNearbyJobs(latitude, longitude, radiusKm));
+            return ResponseEntity.ok(jobService.getNearbyJobs(latitude, longitude, radiusKm, cursor, size));
         } catch (Exception e) {
             log.error("Error fetching nearby jobs", e);
             return ResponseEntity.badRequest().body(Map.of("error", "Failed to fetch nearby jobs"));
@@ -109,9 +133,11 @@ public class JobController {
     }
 
     @GetMapping("/worker/nearby")
-    public ResponseEntity<?> getJobsForWorker() {
+    public ResponseEntity<?> getJobsForWorker(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            return ResponseEntity.ok(jobService.getJobsForWorker());
+            return ResponseEntity.ok(jobService.getJobsForWorker(cursor, size));
         } catch (Exception e) {
             log.error("Error fetching jobs for worker", e);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -130,9 +156,12 @@ public class JobController {
     }
 
     @GetMapping("/ratings")
-    public ResponseEntity<?> getRatingHistory() {
+    public ResponseEntity<?> getRatingHistory(
+            @RequestParam(defaultValue = "recent") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            return ResponseEntity.ok(jobService.getRatingHistory());
+            return ResponseEntity.ok(jobService.getRatingHistory(sort, cursor, size));
         } catch (Exception e) {
             log.error("Error fetching rating history", e);
             return ResponseEntity.badRequest().body(Map.of("error", "Failed to fetch ratings"));
@@ -146,10 +175,10 @@ public class JobController {
             @RequestParam(required = false) Double minPrice,
             @RequestParam(required = false) Double maxPrice,
             @RequestParam(required = false) String status,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size) {
         try {
-            return ResponseEntity.ok(jobService.searchJobs(location, category, minPrice, maxPrice, status, page, size));
+            return ResponseEntity.ok(jobService.searchJobs(location, category, minPrice, maxPrice, status, cursor, size));
         } catch (Exception e) {
             log.error("Error searching jobs", e);
             return ResponseEntity.badRequest().body(Map.of("error", "Error searching jobs: " + e.getMessage()));
@@ -166,7 +195,12 @@ public class JobController {
         try {
             return ResponseEntity.ok(action.execute(jobId));
         } catch (Exception e) {
-            log.error("Error {} job {}", actionName, jobId, e);
+            if (e.getMessage() != null && e.getMessage().contains("cannot")) {
+                // Expected conflicts, e.g. losing an accept race; no stack trace per loser
+                log.debug("Conflict {} job {}: {}", actionName, jobId, e.getMessage());
+            } else {
+                log.error("Error {} job {}", actionName, jobId, e);
+            }
             return buildErrorResponse(e);
         }
     }
@@ -1,13 +1,17 @@
 package com.gigfinder.controller;
 
 import com.gigfinder.model.Notification;
-import com.gigfinder.model.User;
 import com.gigfinder.repository.NotificationRepository;
-import com.gigfinder.repository.UserRepository;
+import com.gigfinder.security.CurrentUser;
+import com.gigfinder.service.BadgeService;
+import com.gigfinder.service.NotificationEventStreams;
+import com.gigfinder.service.NotificationReplayService;
 import com.gigfinder.util.SecurityUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -20,21 +24,24 @@ public class NotificationController {
     private NotificationRepository notificationRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private NotificationReplayService notificationReplayService;
+
+    @Autowired
+    private NotificationEventStreams notificationEventStreams;
+
+    @Autowired
+    private BadgeService badgeService;
 
     @GetMapping
     public ResponseEntity<List<Notification>> getUserNotifications() {
         try {
-            String username = SecurityUtil.getCurrentUsername();
-            if (username == null) {
+            CurrentUser user = SecurityUtil.getCurrentUser();
+            if (user == null) {
                 return ResponseEntity.status(401).body(null);
             }
 
-            User user = userRepository.findByEmail(username)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
             List<Notification> notifications = notificationRepository
-                    .findByUserOrderByCreatedAtDesc(user);
+                    .findByUserIdOrderByCreatedAtDesc(user.getUserId());
 
             return ResponseEntity.ok(notifications);
         } catch (Exception e) {
@@ -47,16 +54,13 @@ public class NotificationController {
     @GetMapping("/unread")
     public ResponseEntity<List<Notification>> getUnreadNotifications() {
         try {
-            String username = SecurityUtil.getCurrentUsername();
-            if (username == null) {
+            CurrentUser user = SecurityUtil.getCurrentUser();
+            if (user == null) {
                 return ResponseEntity.status(401).body(null);
             }
 
-            User user = userRepository.findByEmail(username)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
             List<Notification> notifications = notificationRepository
-                    .findByUserAndReadStatusOrderByCreatedAtDesc(user, false);
+                    .findByUserIdAndReadStatusOrderByCreatedAtDesc(user.getUserId(), false);
 
             return ResponseEntity.ok(notifications);
         } catch (Exception e) {
@@ -69,17 +73,15 @@ public class NotificationController {
     @PutMapping("/{id}/read")
     public ResponseEntity<?> markNotificationAsRead(@PathVariable Long id) {
         try {
-            String username = SecurityUtil.getCurrentUsername();
-            if (username == null) {
+            CurrentUser user = SecurityUtil.getCurrentUser();
+            if (user == null) {
                 return ResponseEntity.status(401).body(null);
             }
 
-            User user = userRepository.findByEmail(username)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            int updatedRows = notificationRepository.markAsRead(user, id);
+            int updatedRows = notificationRepository.markAsRead(user.getUserId(), id);
             
             if (updatedRows > 0) {
+                badgeService.notificationsRead(user.getUserId(), updatedRows);
                 return ResponseEntity.ok(Map.of("message", "Notification marked as read"));
             } else {
                 return ResponseEntity.status(404).body(Map.of("message", "Notification not found or already read"));
@@ -94,15 +96,13 @@ public class NotificationController {
     @PutMapping("/read-all")
     public ResponseEntity<?> markAllNotificationsAsRead() {
         try {
-            String username = SecurityUtil.getCurrentUsername();
-            if (username == null) {
+            CurrentUser user = SecurityUtil.getCurrentUser();
+            if (user == null) {
                 return ResponseEntity.status(401).body(null);
             }
 
-            User user = userRepository.findByEmail(username)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            int updatedRows = notificationRepository.markAllAsRead(user);
+            int updatedRows = notificationRepository.markAllAsRead(user.getUserId());
+            badgeService.notificationsRead(user.getUserId(), updatedRows);
 
             return ResponseEntity.ok(Map.of("message", "All notifications marked as read", "updatedCount", updatedRows));
         } catch (Exception e) {
@@ -112,18 +112,47 @@ public class NotificationController {
         }
     }
 
+    // Server-Sent Events alternative to the STOMP user topic; EventSource sends Last-Event-ID on reconnect
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNotifications(
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        CurrentUser user = SecurityUtil.getCurrentUser();
+        if (user == null) {
+            return ResponseEntity.status(401).build();
+        }
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no") // Keep reverse proxies from buffering the stream
+                .body(notificationEventStreams.open(user.getUserId(), lastEventId));
+    }
+
+    // Missed real-time events after a reconnect; see NotificationReplayService
+    @GetMapping("/replay")
+    public ResponseEntity<?> replayNotifications(@RequestParam(required = false) Long stream,
+                                                 @RequestParam(defaultValue = "0") long afterSeq,
+                                                 @RequestParam(required = false) Long since) {
+        try {
+            CurrentUser user = SecurityUtil.getCurrentUser();
+            if (user == null) {
+                return ResponseEntity.status(401).body(null);
+            }
+
+            return ResponseEntity.ok(notificationReplayService.replay(user.getUserId(), stream, afterSeq, since));
+        } catch (Exception e) {
+            System.err.println("Error replaying notifications: " + e.getMessage());
+            e.printStackTrace();
+            return ResponseEntity.badRequest().body(Map.of("error", "Error replaying notifications: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/count/unread")
     public ResponseEntity<Map<String, Long>> getUnreadNotificationCount() {
         try {
-            String username = SecurityUtil.getCurrentUsername();
-            if (username == null) {
+            CurrentUser user = SecurityUtil.getCurrentUser();
+            if (user == null) {
                 return ResponseEntity.status(401).body(null);
             }
 
-            User user = userRepository.findByEmail(username)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            Long unreadCount = notificationRepository.countByUserAndReadStatus(user, false);
+            Long unreadCount = badgeService.getBadges(user.getUserId()).notifications();
 
             return ResponseEntity.ok(Map.of("unreadCount", unreadCount));
         } catch (Exception e) {
@@ -1,5 +1,8 @@
 package com.gigfinder.controller;
 
+import com.gigfinder.dto.CursorPageDTO;
+import com.gigfinder.dto.RatingResponseDTO;
+import com.gigfinder.dto.RatingSummaryDTO;
 import com.gigfinder.model.Job;
 import com.gigfinder.model.Rating;
 import com.gigfinder.model.User;
@@ -7,12 +10,14 @@ import com.gigfinder.model.enums.Role;
 import com.gigfinder.repository.JobRepository;
 import com.gigfinder.repository.RatingRepository;
 import com.gigfinder.repository.UserRepository;
+import com.gigfinder.repository.WorkerProfileRepository;
 import com.gigfinder.service.AuthService;
+import com.gigfinder.service.RatingAggregateService;
+import com.gigfinder.service.RatingHistoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +31,9 @@ public class RatingController {
     private final JobRepository jobRepository;
     private final UserRepository userRepository;
     private final AuthService authService;
+    private final WorkerProfileRepository workerProfileRepository;
+    private final RatingAggregateService ratingAggregateService;
+    private final RatingHistoryService ratingHistoryService;
 
     @PostMapping("/job/{jobId}")
     public ResponseEntity<?> rateJob(@PathVariable Long jobId, @RequestBody Map<String, Object> request) {
@@ -67,7 +75,7 @@ public class RatingController {
                 .comment(comment)
                 .build();
 
-            ratingRepository.save(rating);
+            ratingAggregateService.saveRating(rating);
 
             return ResponseEntity.ok(Map.of("message", "Rating submitted successfully"));
 
@@ -79,17 +87,22 @@ public class RatingController {
     @GetMapping("/worker/{workerId}")
     public ResponseEntity<?> getWorkerRatings(@PathVariable Long workerId) {
         try {
-            User worker = userRepository.findById(workerId)
-                .orElseThrow(() -> new RuntimeException("Worker not found"));
+            if (!userRepository.existsById(workerId)) {
+                throw new RuntimeException("Worker not found");
+            }
 
-            List<Rating> ratings = ratingRepository.findByReviewee(worker);
-            BigDecimal avgRating = ratingRepository.getAverageRatingByReviewee(worker);
-            Long totalRatings = ratingRepository.getRatingCountByReviewee(worker);
+            // Served from the worker's running aggregates; reviewees without a worker profile fall back to a grouped count
+            RatingSummaryDTO summary = workerProfileRepository.findRatingSummaryByUserId(workerId)
+                    .orElseGet(() -> summarize(ratingRepository.countByScoreForReviewee(workerId)));
+            // Only the cached recent slice; older reviews are paged through /history
+            CursorPageDTO<RatingResponseDTO> recent = ratingHistoryService.getRecent(workerId);
 
             Map<String, Object> response = new HashMap<>();
-            response.put("ratings", ratings);
-            response.put("averageRating", avgRating != null ? avgRating.doubleValue() : 0.0);
-            response.put("totalRatings", totalRatings);
+            response.put("ratings", recent.getItems());
+            response.put("nextCursor", recent.getNextCursor());
+            response.put("averageRating", summary.getAverageRating());
+            response.put("totalRatings", summary.getTotalRatings());
+            response.put("distribution", summary.getDistribution());
 
             return ResponseEntity.ok(response);
 
@@ -98,6 +111,19 @@ public class RatingController {
         }
     }
 
+    @GetMapping("/worker/{workerId}/history")
+    public ResponseEntity<?> getWorkerRatingHistory(@PathVariable Long workerId,
+                                                    @RequestParam(defaultValue = "recent") String sort,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(ratingHistoryService.getHistory(workerId,
+                    RatingHistoryService.Sort.from(sort), cursor, size));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching rating history: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/job/{jobId}/can-rate")
     public ResponseEntity<?> canRateJob(@PathVariable Long jobId) {
         try {
@@ -115,4 +141,20 @@ public class RatingController {
             return ResponseEntity.badRequest().body("Error checking rating eligibility: " + e.getMessage());
         }
     }
+
+    // Rows of (score, count) from RatingRepository.countByScoreForReviewee
+    private static RatingSummaryDTO summarize(List<Object[]> scoreCounts) {
+        int[] histogram = new int[6];
+        long sum = 0;
+        int count = 0;
+        for (Object[] row : scoreCounts) {
+            int score = ((Number) row[0]).intValue();
+            int ratings = ((Number) row[1]).intValue();
+            histogram[score] = ratings;
+            sum += (long) score * ratings;
+            count += ratings;
+        }
+        return new RatingSummaryDTO(sum, count, histogram[1], histogram[2], histogram[3],
+                histogram[4], histogram[5]);
+    }
 }
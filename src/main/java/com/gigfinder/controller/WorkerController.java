@@ -4,9 +4,15 @@ import com.gigfinder.model.User;
 import com.gigfinder.model.WorkerProfile;
 import com.gigfinder.repository.UserRepository;
 import com.gigfinder.repository.WorkerProfileRepository;
+import com.gigfinder.security.CurrentUser;
+import com.gigfinder.service.JobCellTopics;
+import com.gigfinder.service.NotificationService;
+import com.gigfinder.service.WorkerRegistry;
+import com.gigfinder.service.WorkerSearchService;
+import com.gigfinder.service.WorkerSkillIndex;
+import com.gigfinder.util.SecurityUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
@@ -24,12 +30,26 @@ public class WorkerController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private WorkerRegistry workerRegistry;
+
+    @Autowired
+    private WorkerSearchService workerSearchService;
+
+    @Autowired
+    private WorkerSkillIndex workerSkillIndex;
+
+    @Autowired
+    private JobCellTopics jobCellTopics;
+
+    @Autowired
+    private NotificationService notificationService;
+
     // Register or update worker profile for authenticated user
     @PostMapping
     public ResponseEntity<?> registerOrUpdateWorker(@RequestBody WorkerProfile profile) {
         try {
-            String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-            Optional<User> userOpt = userRepository.findByEmail(userEmail);
+            Optional<User> userOpt = userRepository.findById(SecurityUtil.getCurrentUser().getUserId());
             if (userOpt.isEmpty()) {
                 return ResponseEntity.badRequest().body("User not found");
             }
@@ -44,6 +64,10 @@ public class WorkerController {
             }
 
             WorkerProfile savedProfile = workerProfileRepository.save(profile);
+            workerRegistry.register(savedProfile);
+            workerSkillIndex.index(savedProfile);
+            // Open apps re-fetch their job cells for the new location or radius
+            notificationService.sendJobCellsChanged(user.getId());
             return ResponseEntity.ok(savedProfile);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to save worker profile: " + e.getMessage());
@@ -56,23 +80,23 @@ public class WorkerController {
         return workerProfileRepository.findAll();
     }
 
-    // Search workers by skill
+    // Search workers by skill; comma-separated skills must all match
     @GetMapping("/search")
     public List<WorkerProfile> searchWorkersBySkill(@RequestParam String skill) {
-        return workerProfileRepository.findBySkillsContaining(skill);
+        List<Long> workerIds = workerSkillIndex.findWorkers(skill).stream()
+                .mapToObj(Long::valueOf)
+                .toList();
+        if (workerIds.isEmpty()) {
+            return List.of();
+        }
+        return workerProfileRepository.findAllWithUserByIdIn(workerIds);
     }
 
     // Get current worker's profile
     @GetMapping("/me")
     public ResponseEntity<?> getMyProfile() {
         try {
-            String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-            Optional<User> userOpt = userRepository.findByEmail(userEmail);
-            if (userOpt.isEmpty()) {
-                return ResponseEntity.badRequest().body("User not found");
-            }
-            User user = userOpt.get();
-            Optional<WorkerProfile> profileOpt = workerProfileRepository.findByUser(user);
+            Optional<WorkerProfile> profileOpt = findCurrentWorkerProfile();
             if (profileOpt.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
@@ -82,17 +106,30 @@ public class WorkerController {
         }
     }
 
+    // Geo-cell topics the current worker subscribes to for new jobs in their service area
+    @GetMapping("/me/job-cells")
+    public ResponseEntity<?> getMyJobCells() {
+        try {
+            Optional<WorkerProfile> profileOpt = findCurrentWorkerProfile();
+            if (profileOpt.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            WorkerProfile profile = profileOpt.get();
+            if (profile.getLocationLat() == null || profile.getLocationLng() == null) {
+                return ResponseEntity.ok(JobCellTopics.CellSubscription.none());
+            }
+            return ResponseEntity.ok(jobCellTopics.subscriptionFor(profile.getLocationLat().doubleValue(),
+                    profile.getLocationLng().doubleValue(), profile.getRadiusKm() != null ? profile.getRadiusKm() : 5));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to fetch job cells: " + e.getMessage());
+        }
+    }
+
     // Update verification documents
     @PutMapping("/verification")
     public ResponseEntity<?> updateVerification(@RequestBody Map<String, String> documents) {
         try {
-            String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-            Optional<User> userOpt = userRepository.findByEmail(userEmail);
-            if (userOpt.isEmpty()) {
-                return ResponseEntity.badRequest().body("User not found");
-            }
-            User user = userOpt.get();
-            Optional<WorkerProfile> profileOpt = workerProfileRepository.findByUser(user);
+            Optional<WorkerProfile> profileOpt = findCurrentWorkerProfile();
             if (profileOpt.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
@@ -104,6 +141,7 @@ public class WorkerController {
             }
             
             WorkerProfile savedProfile = workerProfileRepository.save(profile);
+            workerRegistry.register(savedProfile);
             return ResponseEntity.ok(savedProfile);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to update verification: " + e.getMessage());
@@ -114,13 +152,7 @@ public class WorkerController {
     @PutMapping("/availability")
     public ResponseEntity<?> toggleAvailability(@RequestBody Map<String, Boolean> request) {
         try {
-            String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-            Optional<User> userOpt = userRepository.findByEmail(userEmail);
-            if (userOpt.isEmpty()) {
-                return ResponseEntity.badRequest().body("User not found");
-            }
-            User user = userOpt.get();
-            Optional<WorkerProfile> profileOpt = workerProfileRepository.findByUser(user);
+            Optional<WorkerProfile> profileOpt = findCurrentWorkerProfile();
             if (profileOpt.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
@@ -130,6 +162,7 @@ public class WorkerController {
             if (isAvailable != null) {
                 profile.setIsAvailable(isAvailable);
                 WorkerProfile savedProfile = workerProfileRepository.save(profile);
+                workerRegistry.register(savedProfile);
                 return ResponseEntity.ok(savedProfile);
             }
             return ResponseEntity.badRequest().body("isAvailable field is required");
@@ -138,18 +171,28 @@ public class WorkerController {
         }
     }
 
-    // Get available workers for instant hire
+    // Get the nearest available workers for instant hire
     @GetMapping("/available")
     public ResponseEntity<List<WorkerProfile>> getAvailableWorkers(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) Double latitude,
             @RequestParam(required = false) Double longitude,
-            @RequestParam(defaultValue = "10.0") Double radiusKm) {
+            @RequestParam(defaultValue = "10.0") Double radiusKm,
+            @RequestParam(defaultValue = "20") int limit) {
         try {
-            List<WorkerProfile> workers = workerProfileRepository.findAvailableWorkers(category, latitude, longitude, radiusKm);
+            List<WorkerProfile> workers = workerSearchService.findAvailableWorkers(category, latitude, longitude, radiusKm, limit);
             return ResponseEntity.ok(workers);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    // Profile id from the token; tokens issued before the profile existed fall back to an id lookup
+    private Optional<WorkerProfile> findCurrentWorkerProfile() {
+        CurrentUser user = SecurityUtil.getCurrentUser();
+        Long workerProfileId = user.getWorkerProfileId() != null
+                ? user.getWorkerProfileId()
+                : workerProfileRepository.findIdByUserId(user.getUserId()).orElse(null);
+        return workerProfileId != null ? workerProfileRepository.findById(workerProfileId) : Optional.empty();
+    }
 }
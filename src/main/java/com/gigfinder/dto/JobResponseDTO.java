@@ -4,13 +4,14 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import com.gigfinder.model.enums.JobStatus;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class JobResponseDTO {
     private Long id;
     private String title;
@@ -22,4 +23,13 @@ public class JobResponseDTO {
     private String status;
     private LocalDateTime createdAt;
     private LocalDateTime scheduledAt;
+    private Double distanceKm;
+
+    // Used by select-new projections, which read the status column as the enum
+    public JobResponseDTO(Long id, String title, String description, String categoryName, String subCategoryName,
+                          BigDecimal budget, String address, JobStatus status, LocalDateTime createdAt,
+                          LocalDateTime scheduledAt) {
+        this(id, title, description, categoryName, subCategoryName, budget, address,
+                status != null ? status.toString() : null, createdAt, scheduledAt, null);
+    }
 }
@@ -0,0 +1,18 @@
+package com.gigfinder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDTO {
+    private Long id;
+    private String title;
+    private String message;
+    private Boolean readStatus;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,32 @@
+package com.gigfinder.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationReplayDTO {
+    // Stream and latest sequence to resume from next time
+    private long stream;
+    private long latestSeq;
+    // Missed real-time events in sequence order; empty when resync is set
+    private List<Event> events;
+    // True when the events could not be replayed and notifications holds the database delta instead
+    private boolean resync;
+    private List<NotificationDTO> notifications;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Event {
+        private long seq;
+        // The payload exactly as it was pushed
+        @JsonRawValue
+        private String event;
+    }
+}
@@ -0,0 +1,30 @@
+package com.gigfinder.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+public class RatingSummaryDTO {
+    private double averageRating;
+    private long totalRatings;
+    // Star value (1-5) to number of ratings with that score
+    private Map<Integer, Integer> distribution;
+
+    // Projection from the worker's running aggregate columns
+    public RatingSummaryDTO(Long ratingSum, Integer ratingCount, Integer ones, Integer twos, Integer threes,
+                            Integer fours, Integer fives) {
+        long sum = ratingSum != null ? ratingSum : 0;
+        this.totalRatings = ratingCount != null ? ratingCount : 0;
+        this.averageRating = totalRatings > 0 ? Math.round(sum * 100.0 / totalRatings) / 100.0 : 0.0;
+        this.distribution = new LinkedHashMap<>();
+        distribution.put(1, ones != null ? ones : 0);
+        distribution.put(2, twos != null ? twos : 0);
+        distribution.put(3, threes != null ? threes : 0);
+        distribution.put(4, fours != null ? fours : 0);
+        distribution.put(5, fives != null ? fives : 0);
+    }
+}
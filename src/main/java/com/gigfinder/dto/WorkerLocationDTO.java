@@ -0,0 +1,23 @@
+package com.gigfinder.dto;
+
+import com.gigfinder.model.enums.VerificationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkerLocationDTO {
+    private Long workerId;
+    private Long userId;
+    private BigDecimal locationLat;
+    private BigDecimal locationLng;
+    private Integer radiusKm;
+    private Boolean isAvailable;
+    private VerificationStatus verificationStatus;
+    private BigDecimal ratingAvg;
+    private Integer experienceYears;
+}
@@ -0,0 +1,24 @@
+package com.gigfinder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorkerMatchDTO {
+    private Long workerId;
+    private Long userId;
+    private String name;
+    private String skills;
+    private BigDecimal ratingAvg;
+    private Integer experienceYears;
+    private Double distanceKm;
+    private Boolean inAvailabilityWindow;
+    private Double score;
+}
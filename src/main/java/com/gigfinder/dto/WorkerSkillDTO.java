@@ -0,0 +1,14 @@
+package com.gigfinder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkerSkillDTO {
+    private Long workerId;
+    private Integer categoryId;
+    private Long subCategoryId;
+}
@@ -17,7 +17,8 @@ import java.time.LocalTime;
 public class WorkerAvailability {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "worker_availability_seq")
+    @SequenceGenerator(name = "worker_availability_seq", sequenceName = "worker_availability_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -39,9 +39,31 @@ public class WorkerProfile {
     @Column(name = "photo_url")
     private String photoUrl;
 
-    @Column(name = "rating_avg", precision = 3, scale = 2)
+    // Rating aggregates are maintained in SQL by RatingAggregateService, never written from the entity
+    @Column(name = "rating_avg", precision = 3, scale = 2, insertable = false, updatable = false)
     private BigDecimal ratingAvg;
 
+    @Column(name = "rating_sum", insertable = false, updatable = false)
+    private Long ratingSum;
+
+    @Column(name = "rating_count", insertable = false, updatable = false)
+    private Integer ratingCount;
+
+    @Column(name = "rating_1_count", insertable = false, updatable = false)
+    private Integer rating1Count;
+
+    @Column(name = "rating_2_count", insertable = false, updatable = false)
+    private Integer rating2Count;
+
+    @Column(name = "rating_3_count", insertable = false, updatable = false)
+    private Integer rating3Count;
+
+    @Column(name = "rating_4_count", insertable = false, updatable = false)
+    private Integer rating4Count;
+
+    @Column(name = "rating_5_count", insertable = false, updatable = false)
+    private Integer rating5Count;
+
     @Column(name = "experience_years")
     private Integer experienceYears;
 
@@ -0,0 +1,27 @@
+package com.gigfinder.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Entity @Table(name = "worker_skills")
+public class WorkerSkill {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "worker_skills_seq")
+    @SequenceGenerator(name = "worker_skills_seq", sequenceName = "worker_skills_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "worker_id")
+    private WorkerProfile worker;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "category_id")
+    private Category category;
+
+    // null when the skill only maps to the category as a whole
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sub_category_id")
+    private SubCategory subCategory;
+}
@@ -3,6 +3,8 @@ package com.gigfinder.repository;
 import com.gigfinder.model.ClientProfile;
 import com.gigfinder.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,4 +13,7 @@ import java.util.Optional;
 public interface ClientProfileRepository extends JpaRepository<ClientProfile, Long> {
 
     Optional<ClientProfile> findByUser(User user);  //  <— ADD THIS LINE
+
+    @Query("SELECT c.id FROM ClientProfile c WHERE c.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
 }
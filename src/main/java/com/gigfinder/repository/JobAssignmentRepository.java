@@ -4,6 +4,8 @@ import com.gigfinder.model.JobAssignment;
 import com.gigfinder.model.Job;
 import com.gigfinder.model.WorkerProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,6 +21,11 @@ public interface JobAssignmentRepository extends JpaRepository<JobAssignment, Lo
     List<JobAssignment> findByWorkerAndStatus(WorkerProfile worker, com.gigfinder.model.enums.AssignmentStatus status);
     
     boolean existsByJob(Job job);
+
+    // Everything a lifecycle transition reads, in one statement
+    @Query("SELECT a FROM JobAssignment a JOIN FETCH a.job j JOIN FETCH j.client c JOIN FETCH c.user " +
+           "JOIN FETCH a.worker w JOIN FETCH w.user WHERE j.id = :jobId")
+    Optional<JobAssignment> findWithDetailsByJobId(@Param("jobId") Long jobId);
 }
 
 
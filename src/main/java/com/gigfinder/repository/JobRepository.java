@@ -2,6 +2,7 @@ package com.gigfinder.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -9,23 +10,40 @@ import com.gigfinder.model.Job;
 import com.gigfinder.model.User;
 import com.gigfinder.model.enums.JobStatus;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job> {
+public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job>, JobRepositoryCustom {
     List<Job> findByStatus(JobStatus status);
+
+    // Everything convertToResponseDTO and the open job index touch, in one statement
+    @Query("SELECT j FROM Job j JOIN FETCH j.client c JOIN FETCH c.user LEFT JOIN FETCH j.worker " +
+           "LEFT JOIN FETCH j.category LEFT JOIN FETCH j.subCategory WHERE j.status = :status")
+    List<Job> findWithDetailsByStatus(@Param("status") JobStatus status);
     List<Job> findByCategoryId(Long categoryId);
+
+    // Single-statement claim: of many concurrent callers only one sees 1 row updated, the rest see 0
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Job j SET j.status = :assigned, j.worker = :worker, j.acceptedAt = :acceptedAt " +
+           "WHERE j.id = :jobId AND j.status = :open")
+    int claimOpenJob(@Param("jobId") Long jobId, @Param("worker") User worker,
+                     @Param("acceptedAt") LocalDateTime acceptedAt,
+                     @Param("open") JobStatus open, @Param("assigned") JobStatus assigned);
+
+    // Same single-statement guard for later transitions: concurrent start/complete calls cannot both pass
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :to WHERE j.id = :jobId AND j.status IN :from")
+    int advanceStatus(@Param("jobId") Long jobId, @Param("from") Collection<JobStatus> from,
+                      @Param("to") JobStatus to);
+
+    // Read past the persistence context, which still holds the status from before a bulk update
+    @Query("SELECT j.status FROM Job j WHERE j.id = :jobId")
+    Optional<JobStatus> findStatusById(@Param("jobId") Long jobId);
+
     List<Job> findByStatusOrderByCreatedAtDesc(JobStatus status);
-    
-    @Query("SELECT j FROM Job j JOIN j.client c WHERE c.locationLat BETWEEN :minLat AND :maxLat " +
-           "AND c.locationLng BETWEEN :minLon AND :maxLon " +
-           "AND j.status = :status")
-    List<Job> findByLocationWithinBounds(
-        @Param("minLat") double minLat, 
-        @Param("maxLat") double maxLat,
-        @Param("minLon") double minLon, 
-        @Param("maxLon") double maxLon,
-        @Param("status") JobStatus status);
+
     List<Job> findByClientUser(User user);
     
     @Query("SELECT COUNT(j) FROM Job j WHERE j.status = :status")
@@ -0,0 +1,17 @@
+package com.gigfinder.repository;
+
+import com.gigfinder.dto.JobResponseDTO;
+import com.gigfinder.model.Job;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface JobRepositoryCustom {
+
+    /**
+     * Job listing rows projected straight into {@link JobResponseDTO} with one SQL statement,
+     * so no client, worker or category entity is materialized per row.
+     */
+    List<JobResponseDTO> findJobSummaries(Specification<Job> spec, Sort sort, int limit);
+}
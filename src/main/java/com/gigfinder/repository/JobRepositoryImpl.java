@@ -0,0 +1,56 @@
+package com.gigfinder.repository;
+
+import com.gigfinder.dto.JobResponseDTO;
+import com.gigfinder.model.Category;
+import com.gigfinder.model.Job;
+import com.gigfinder.model.SubCategory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+public class JobRepositoryImpl implements JobRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<JobResponseDTO> findJobSummaries(Specification<Job> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<JobResponseDTO> query = cb.createQuery(JobResponseDTO.class);
+        Root<Job> root = query.from(Job.class);
+        Join<Job, Category> category = root.join("category", JoinType.LEFT);
+        Join<Job, SubCategory> subCategory = root.join("subCategory", JoinType.LEFT);
+
+        query.select(cb.construct(JobResponseDTO.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("description"),
+                category.get("name"),
+                subCategory.get("name"),
+                root.get("budget"),
+                root.get("address"),
+                root.get("status"),
+                root.get("createdAt"),
+                root.get("scheduledAt")));
+
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -3,8 +3,11 @@ package com.gigfinder.repository;
 import com.gigfinder.model.Message;
 import com.gigfinder.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -17,6 +20,12 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     @Query("SELECT m FROM Message m WHERE (m.sender = ?1 AND m.receiver = ?2) OR (m.sender = ?2 AND m.receiver = ?1) ORDER BY m.createdAt DESC")
     List<Message> findConversationBetweenUsers(User user1, User user2);
     
-    @Query("SELECT COUNT(m) FROM Message m WHERE m.receiver = ?1 AND m.isRead = false")
-    Long countUnreadMessagesByReceiver(User receiver);
+    @Query("SELECT COUNT(m) FROM Message m WHERE m.receiver.id = ?1 AND m.isRead = false")
+    Long countUnreadMessagesByReceiverId(Long receiverId);
+
+    // Returns 0 when the message was already read, so concurrent calls decrement the badge once
+    @Modifying
+    @Transactional
+    @Query("UPDATE Message m SET m.isRead = true WHERE m.id = :messageId AND m.isRead = false")
+    int markAsRead(@Param("messageId") Long messageId);
 }
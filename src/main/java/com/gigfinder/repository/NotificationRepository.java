@@ -1,7 +1,8 @@
 package com.gigfinder.repository;
 
+import com.gigfinder.dto.NotificationDTO;
 import com.gigfinder.model.Notification;
-import com.gigfinder.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,24 +10,32 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    List<Notification> findByUserOrderByCreatedAtDesc(User user);
-    List<Notification> findByUserAndReadStatusOrderByCreatedAtDesc(User user, Boolean readStatus);
+    List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
+    List<Notification> findByUserIdAndReadStatusOrderByCreatedAtDesc(Long userId, Boolean readStatus);
     
+    // Only unread rows are updated, so the row count is the change in the unread badge
     @Modifying
     @Transactional
-    @Query("UPDATE Notification n SET n.readStatus = true WHERE n.user = :user AND n.id = :notificationId")
-    int markAsRead(@Param("user") User user, @Param("notificationId") Long notificationId);
+    @Query("UPDATE Notification n SET n.readStatus = true WHERE n.user.id = :userId AND n.id = :notificationId AND n.readStatus = false")
+    int markAsRead(@Param("userId") Long userId, @Param("notificationId") Long notificationId);
     
     @Modifying
     @Transactional
-    @Query("UPDATE Notification n SET n.readStatus = true WHERE n.user = :user")
-    int markAllAsRead(@Param("user") User user);
+    @Query("UPDATE Notification n SET n.readStatus = true WHERE n.user.id = :userId AND n.readStatus = false")
+    int markAllAsRead(@Param("userId") Long userId);
     
-    Long countByUserAndReadStatus(User user, Boolean readStatus);
+    Long countByUserIdAndReadStatus(Long userId, Boolean readStatus);
+
+    // Oldest first, so a resyncing client can apply them in order
+    @Query("SELECT new com.gigfinder.dto.NotificationDTO(n.id, n.title, n.message, n.readStatus, n.createdAt) " +
+           "FROM Notification n WHERE n.user.id = :userId AND n.createdAt > :since ORDER BY n.createdAt ASC, n.id ASC")
+    List<NotificationDTO> findCreatedSince(@Param("userId") Long userId, @Param("since") LocalDateTime since,
+                                           Pageable pageable);
 }
 
 
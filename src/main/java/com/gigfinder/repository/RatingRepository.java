@@ -1,7 +1,9 @@
 package com.gigfinder.repository;
 
+import com.gigfinder.dto.RatingResponseDTO;
 import com.gigfinder.model.Rating;
 import com.gigfinder.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,6 +16,37 @@ import java.util.List;
 @Repository
 public interface RatingRepository extends JpaRepository<Rating, Long> {
     List<Rating> findByReviewee(User reviewee);
+
+    // Rating history pages: one projection query each, ordered along the V13 keyset indexes
+    @Query("SELECT new com.gigfinder.dto.RatingResponseDTO(r.id, j.title, rv.name, re.name, r.score, r.comment, r.createdAt) " +
+           "FROM Rating r JOIN r.job j JOIN r.reviewer rv JOIN r.reviewee re " +
+           "WHERE re.id = :revieweeId ORDER BY r.createdAt DESC, r.id DESC")
+    List<RatingResponseDTO> findRecentHistory(@Param("revieweeId") Long revieweeId, Pageable pageable);
+
+    @Query("SELECT new com.gigfinder.dto.RatingResponseDTO(r.id, j.title, rv.name, re.name, r.score, r.comment, r.createdAt) " +
+           "FROM Rating r JOIN r.job j JOIN r.reviewer rv JOIN r.reviewee re " +
+           "WHERE re.id = :revieweeId AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<RatingResponseDTO> findRecentHistoryAfter(@Param("revieweeId") Long revieweeId,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT new com.gigfinder.dto.RatingResponseDTO(r.id, j.title, rv.name, re.name, r.score, r.comment, r.createdAt) " +
+           "FROM Rating r JOIN r.job j JOIN r.reviewer rv JOIN r.reviewee re " +
+           "WHERE re.id = :revieweeId ORDER BY r.score DESC, r.id DESC")
+    List<RatingResponseDTO> findHistoryByScore(@Param("revieweeId") Long revieweeId, Pageable pageable);
+
+    @Query("SELECT new com.gigfinder.dto.RatingResponseDTO(r.id, j.title, rv.name, re.name, r.score, r.comment, r.createdAt) " +
+           "FROM Rating r JOIN r.job j JOIN r.reviewer rv JOIN r.reviewee re " +
+           "WHERE re.id = :revieweeId AND (r.score < :score OR (r.score = :score AND r.id < :id)) " +
+           "ORDER BY r.score DESC, r.id DESC")
+    List<RatingResponseDTO> findHistoryByScoreAfter(@Param("revieweeId") Long revieweeId,
+                                                    @Param("score") Integer score,
+                                                    @Param("id") Long id, Pageable pageable);
+
+    // Score histogram for reviewees without worker aggregates
+    @Query("SELECT r.score, COUNT(r) FROM Rating r WHERE r.reviewee.id = :revieweeId GROUP BY r.score")
+    List<Object[]> countByScoreForReviewee(@Param("revieweeId") Long revieweeId);
     
     @Query("SELECT AVG(r.score) FROM Rating r WHERE r.reviewee = :reviewee")
     BigDecimal getAverageRatingByReviewee(@Param("reviewee") User reviewee);
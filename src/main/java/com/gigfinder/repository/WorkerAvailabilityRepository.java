@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.DayOfWeek;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,5 +14,6 @@ public interface WorkerAvailabilityRepository extends JpaRepository<WorkerAvaila
     List<WorkerAvailability> findByWorker(WorkerProfile worker);
     List<WorkerAvailability> findByWorkerAndDayOfWeek(WorkerProfile worker, DayOfWeek dayOfWeek);
     List<WorkerAvailability> findByWorkerAndIsAvailableTrue(WorkerProfile worker);
+    List<WorkerAvailability> findByWorkerIdInAndDayOfWeek(Collection<Long> workerIds, DayOfWeek dayOfWeek);
     void deleteByWorker(WorkerProfile worker);
 }
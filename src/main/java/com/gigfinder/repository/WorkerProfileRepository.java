@@ -1,42 +1,101 @@
 package com.gigfinder.repository;
 
+import com.gigfinder.dto.RatingSummaryDTO;
+import com.gigfinder.dto.WorkerLocationDTO;
 import com.gigfinder.model.User;
 import com.gigfinder.model.WorkerProfile;
 import com.gigfinder.model.enums.VerificationStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface WorkerProfileRepository extends JpaRepository<WorkerProfile, Long> {
     Optional<WorkerProfile> findByUser(User user);
+
+    @Query("SELECT w.id FROM WorkerProfile w WHERE w.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.gigfinder.dto.RatingSummaryDTO(w.ratingSum, w.ratingCount, w.rating1Count, " +
+           "w.rating2Count, w.rating3Count, w.rating4Count, w.rating5Count) FROM WorkerProfile w WHERE w.user.id = :userId")
+    Optional<RatingSummaryDTO> findRatingSummaryByUserId(@Param("userId") Long userId);
+
+    // Folds one new score into the running aggregates; the row lock serializes concurrent ratings
+    @Modifying
+    @Query(value = "UPDATE workers SET rating_sum = rating_sum + :score, rating_count = rating_count + 1, " +
+                   "rating_1_count = rating_1_count + CASE WHEN :score = 1 THEN 1 ELSE 0 END, " +
+                   "rating_2_count = rating_2_count + CASE WHEN :score = 2 THEN 1 ELSE 0 END, " +
+                   "rating_3_count = rating_3_count + CASE WHEN :score = 3 THEN 1 ELSE 0 END, " +
+                   "rating_4_count = rating_4_count + CASE WHEN :score = 4 THEN 1 ELSE 0 END, " +
+                   "rating_5_count = rating_5_count + CASE WHEN :score = 5 THEN 1 ELSE 0 END, " +
+                   "rating_avg = ROUND(CAST(rating_sum + :score AS NUMERIC) / (rating_count + 1), 2) " +
+                   "WHERE user_id = :userId", nativeQuery = true)
+    int addRating(@Param("userId") Long userId, @Param("score") int score);
+
+    // Recomputes the aggregates from ratings and rewrites only the workers that drifted
+    @Modifying
+    @Query(value = "UPDATE workers w SET rating_sum = a.score_sum, rating_count = a.score_count, " +
+                   "rating_1_count = a.ones, rating_2_count = a.twos, rating_3_count = a.threes, " +
+                   "rating_4_count = a.fours, rating_5_count = a.fives, " +
+                   "rating_avg = CASE WHEN a.score_count = 0 THEN 0 " +
+                   "ELSE ROUND(CAST(a.score_sum AS NUMERIC) / a.score_count, 2) END " +
+                   "FROM (SELECT w2.id AS worker_id, COALESCE(SUM(r.score), 0) AS score_sum, COUNT(r.id) AS score_count, " +
+                   "COUNT(r.id) FILTER (WHERE r.score = 1) AS ones, COUNT(r.id) FILTER (WHERE r.score = 2) AS twos, " +
+                   "COUNT(r.id) FILTER (WHERE r.score = 3) AS threes, COUNT(r.id) FILTER (WHERE r.score = 4) AS fours, " +
+                   "COUNT(r.id) FILTER (WHERE r.score = 5) AS fives " +
+                   "FROM workers w2 LEFT JOIN ratings r ON r.reviewee_id = w2.user_id GROUP BY w2.id) a " +
+                   "WHERE w.id = a.worker_id AND (w.rating_sum <> a.score_sum OR w.rating_count <> a.score_count " +
+                   "OR w.rating_1_count <> a.ones OR w.rating_2_count <> a.twos OR w.rating_3_count <> a.threes " +
+                   "OR w.rating_4_count <> a.fours OR w.rating_5_count <> a.fives)", nativeQuery = true)
+    int reconcileRatingAggregates();
     
-    @Query("SELECT w FROM WorkerProfile w WHERE w.isAvailable = true " +
-           "AND (:category IS NULL OR w.skills LIKE CONCAT('%', :category, '%')) " +
-           "AND (:latitude IS NULL OR :longitude IS NULL OR :radiusKm IS NULL OR " +
-           "(6371 * ACOS(COS(RADIANS(:latitude)) * COS(RADIANS(w.locationLat)) * " +
-           "COS(RADIANS(w.locationLng) - RADIANS(:longitude)) + " +
-           "SIN(RADIANS(:latitude)) * SIN(RADIANS(w.locationLat)))) <= :radiusKm)")
-    List<WorkerProfile> findAvailableWorkers(
-        @Param("category") String category,
-        @Param("latitude") Double latitude,
-        @Param("longitude") Double longitude,
-        @Param("radiusKm") Double radiusKm);
+    @Query("SELECT w FROM WorkerProfile w JOIN FETCH w.user WHERE w.isAvailable = true")
+    List<WorkerProfile> findAvailableWorkers(Pageable pageable);
+
+    // Category filter through the indexed worker_skills join table
+    @Query("SELECT w FROM WorkerProfile w JOIN FETCH w.user WHERE w.isAvailable = true " +
+           "AND EXISTS (SELECT 1 FROM WorkerSkill s WHERE s.worker = w AND s.category.id IN :categoryIds)")
+    List<WorkerProfile> findAvailableWorkersInCategories(@Param("categoryIds") Collection<Integer> categoryIds,
+                                                         Pageable pageable);
+
+    // Phase one of the radius search: a bounding-box range scan on idx_workers_location returning only primitives
+    @Query("SELECT new com.gigfinder.dto.WorkerLocationDTO(w.id, w.user.id, w.locationLat, w.locationLng, " +
+           "w.radiusKm, w.isAvailable, w.verificationStatus) FROM WorkerProfile w " +
+           "WHERE w.locationLat BETWEEN :minLat AND :maxLat AND w.locationLng BETWEEN :minLng AND :maxLng " +
+           "AND w.isAvailable = true")
+    List<WorkerLocationDTO> findAvailableLocationsWithinBounds(
+        @Param("minLat") BigDecimal minLat,
+        @Param("maxLat") BigDecimal maxLat,
+        @Param("minLng") BigDecimal minLng,
+        @Param("maxLng") BigDecimal maxLng);
+
+    @Query("SELECT w FROM WorkerProfile w JOIN FETCH w.user WHERE w.id IN :ids")
+    List<WorkerProfile> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
     List<WorkerProfile> findByVerificationStatus(VerificationStatus status);
     List<WorkerProfile> findByVerificationStatusIn(List<VerificationStatus> statuses);
-    List<WorkerProfile> findBySkillsContaining(String skill);
     
     List<WorkerProfile> findTop10ByOrderByRatingAvgDesc();
     
-    @Query("SELECT w FROM WorkerProfile w WHERE w.locationLat BETWEEN :minLat AND :maxLat " +
-           "AND w.locationLng BETWEEN :minLng AND :maxLng")
-    List<WorkerProfile> findByLocationWithinBounds(
-        @Param("minLat") java.math.BigDecimal minLat,
-        @Param("maxLat") java.math.BigDecimal maxLat,
-        @Param("minLng") java.math.BigDecimal minLng,
-        @Param("maxLng") java.math.BigDecimal maxLng);
+    @Query("SELECT new com.gigfinder.dto.WorkerLocationDTO(w.id, w.user.id, w.locationLat, w.locationLng, " +
+           "w.radiusKm, w.isAvailable, w.verificationStatus, w.ratingAvg, w.experienceYears) FROM WorkerProfile w " +
+           "WHERE w.locationLat IS NOT NULL AND w.locationLng IS NOT NULL")
+    List<WorkerLocationDTO> findAllWorkerLocations();
+
+    @Query("SELECT new com.gigfinder.dto.WorkerLocationDTO(w.id, w.user.id, w.locationLat, w.locationLng, " +
+           "w.radiusKm, w.isAvailable, w.verificationStatus, w.ratingAvg, w.experienceYears) FROM WorkerProfile w " +
+           "WHERE w.user.id = :userId")
+    Optional<WorkerLocationDTO> findWorkerLocationByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT w FROM WorkerProfile w WHERE w.skills IS NOT NULL AND w.skills <> '' " +
+           "AND NOT EXISTS (SELECT 1 FROM WorkerSkill s WHERE s.worker = w)")
+    List<WorkerProfile> findWithUnindexedSkills();
 }
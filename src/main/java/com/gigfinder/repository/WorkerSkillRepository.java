@@ -0,0 +1,23 @@
+package com.gigfinder.repository;
+
+import com.gigfinder.dto.WorkerSkillDTO;
+import com.gigfinder.model.WorkerSkill;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WorkerSkillRepository extends JpaRepository<WorkerSkill, Long> {
+
+    @Modifying
+    @Query("DELETE FROM WorkerSkill s WHERE s.worker.id = :workerId")
+    void deleteByWorkerId(@Param("workerId") Long workerId);
+
+    @Query("SELECT new com.gigfinder.dto.WorkerSkillDTO(s.worker.id, s.category.id, sc.id) " +
+           "FROM WorkerSkill s LEFT JOIN s.subCategory sc")
+    List<WorkerSkillDTO> findAllSkillIds();
+}
@@ -0,0 +1,43 @@
+package com.gigfinder.security;
+
+import com.gigfinder.model.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Authenticated principal built from the JWT claims, so request handling knows the
+ * caller's ids without looking the user up. Profile ids are null when the user had no
+ * such profile when the token was issued.
+ */
+@Getter
+@AllArgsConstructor
+public class CurrentUser implements UserDetails {
+
+    private final Long userId;
+    private final String email;
+    private final Role role;
+    private final Long workerProfileId;
+    private final Long clientProfileId;
+    // Only set when loaded from the database; tokens never carry it
+    private final String password;
+
+    public CurrentUser withRole(Role role) {
+        return new CurrentUser(userId, email, role, workerProfileId, clientProfileId, password);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -1,6 +1,7 @@
 package com.gigfinder.security;
 
 import com.gigfinder.util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -23,6 +24,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final UserCache userCache;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -30,21 +32,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        String username = null;
-        String token = null;
 
         // Authorization: Bearer <token>
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            username = jwtUtil.extractUsername(token);
-        }
-
-        // if username exists and SecurityContext is empty -> validate token
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // One verification per request; hot tokens are served from JwtUtil's verified-claims cache
+            Claims claims = jwtUtil.parseVerifiedClaims(authHeader.substring(7));
+            String username = claims != null ? claims.getSubject() : null;
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (username != null) {
+                // Ids come from the claims; only tokens issued before they were added need a lookup
+                CurrentUser principal = jwtUtil.toCurrentUser(claims);
+                UserDetails userDetails = principal != null
+                        ? userCache.refresh(principal)
+                        : userDetailsService.loadUserByUsername(username);
+                if (userDetails == null) {
+                    // User deleted since the token was issued
+                    filterChain.doFilter(request, response);
+                    return;
+                }
 
-            if (jwtUtil.validateToken(token, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails, null, userDetails.getAuthorities());
@@ -0,0 +1,150 @@
+package com.gigfinder.security;
+
+import com.gigfinder.config.RateLimitProperties;
+import com.gigfinder.util.SecurityUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket rate limiting per route class, keyed by the authenticated user or, for
+ * anonymous requests, the client IP. Runs in the security chain right after
+ * {@link JwtAuthenticationFilter} so the principal is already known.
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding its theoretical arrival time
+ * (the generic cell rate algorithm), which is equivalent to a token bucket but updates
+ * with one CAS and no lock. A bucket whose arrival time has passed is full, so idle
+ * buckets can be dropped without changing any outcome.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final RateLimitProperties properties;
+    private final List<Route> routes;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private record Route(RateLimitProperties.RouteClass config, long emissionIntervalNanos, long burstToleranceNanos,
+                         Counter throttled) {
+    }
+
+    private static final class Bucket {
+        final Route route;
+        final AtomicLong theoreticalArrivalNanos = new AtomicLong(Long.MIN_VALUE);
+
+        Bucket(Route route) {
+            this.route = route;
+        }
+
+        /**
+         * Takes a token, returning 0 when allowed or the nanoseconds until one is available.
+         */
+        long tryAcquire(long now) {
+            while (true) {
+                long previous = theoreticalArrivalNanos.get();
+                long arrival = Math.max(previous, now);
+                long wait = arrival - route.burstToleranceNanos() - now;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (theoreticalArrivalNanos.compareAndSet(previous, arrival + route.emissionIntervalNanos())) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean idleSince(long cutoff) {
+            return theoreticalArrivalNanos.get() < cutoff;
+        }
+    }
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.routes = properties.getRoutes().stream()
+                .map(config -> {
+                    long interval = TimeUnit.MINUTES.toNanos(1) / Math.max(config.getRefillPerMinute(), 1);
+                    return new Route(config, interval, interval * (Math.max(config.getCapacity(), 1) - 1),
+                            meterRegistry.counter("ratelimit.throttled", "route", config.getName()));
+                })
+                .toList();
+        Gauge.builder("ratelimit.buckets", buckets, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || routes.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Route route = match(request.getRequestURI());
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = route.config().getName() + '|' + clientKey(request);
+        long waitNanos = buckets.computeIfAbsent(key, k -> new Bucket(route)).tryAcquire(System.nanoTime());
+        if (waitNanos > 0) {
+            route.throttled().increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Too many requests\",\"retryAfterSeconds\":" + retryAfterSeconds + "}");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    @Scheduled(fixedDelay = 60 * 1000L)
+    public void evictIdleBuckets() {
+        long cutoff = System.nanoTime() - TimeUnit.SECONDS.toNanos(properties.getIdleEvictionSeconds());
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.idleSince(cutoff));
+        int evicted = before - buckets.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+
+    private Route match(String path) {
+        for (Route route : routes) {
+            for (String pattern : route.config().getPatterns()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return route;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        CurrentUser user = SecurityUtil.getCurrentUser();
+        return user != null ? "user:" + user.getUserId() : "ip:" + request.getRemoteAddr();
+    }
+}
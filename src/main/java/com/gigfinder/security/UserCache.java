@@ -0,0 +1,61 @@
+package com.gigfinder.security;
+
+import com.gigfinder.model.User;
+import com.gigfinder.model.enums.Role;
+import com.gigfinder.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of each user's current role, so a principal taken from a long-lived
+ * token still picks up role changes and removals within the TTL. Call
+ * {@link #invalidate(Long)} whenever a user's role or ban state changes. With the cache
+ * disabled, principals come from the token claims alone.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${gigfinder.security.user-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gigfinder.security.user-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private final Map<Long, CachedUser> usersById = new ConcurrentHashMap<>();
+
+    private record CachedUser(Role role, long loadedAt) {
+    }
+
+    /**
+     * Returns the principal with its role brought up to date, or {@code null} when the
+     * user no longer exists.
+     */
+    public CurrentUser refresh(CurrentUser principal) {
+        if (!enabled) {
+            return principal;
+        }
+        long now = System.currentTimeMillis();
+        CachedUser cached = usersById.get(principal.getUserId());
+        if (cached == null || now - cached.loadedAt() > ttlSeconds * 1000) {
+            User user = userRepository.findById(principal.getUserId()).orElse(null);
+            if (user == null) {
+                usersById.remove(principal.getUserId());
+                return null;
+            }
+            cached = new CachedUser(user.getRole(), now);
+            usersById.put(principal.getUserId(), cached);
+        }
+        return cached.role() == principal.getRole() ? principal : principal.withRole(cached.role());
+    }
+
+    public void invalidate(Long userId) {
+        usersById.remove(userId);
+    }
+}
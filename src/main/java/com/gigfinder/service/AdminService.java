@@ -26,6 +26,7 @@ public class AdminService {
     private final RatingRepository ratingRepository;
     private final ReportRepository reportRepository;
     private final PaymentRefundRepository refundRepository;
+    private final WorkerRegistry workerRegistry;
     
     public PlatformStatsDTO getPlatformOverview() {
         PlatformStatsDTO stats = new PlatformStatsDTO();
@@ -85,7 +86,9 @@ public class AdminService {
         WorkerProfile worker = workerRepository.findById(workerId)
                 .orElseThrow(() -> new RuntimeException("Worker not found"));
         worker.setVerificationStatus(VerificationStatus.APPROVED);
-        return workerRepository.save(worker);
+        WorkerProfile savedWorker = workerRepository.save(worker);
+        workerRegistry.register(savedWorker);
+        return savedWorker;
     }
     
     public WorkerProfile rejectWorker(Long workerId, String reason) {
@@ -93,7 +96,9 @@ public class AdminService {
                 .orElseThrow(() -> new RuntimeException("Worker not found"));
         worker.setVerificationStatus(VerificationStatus.REJECTED);
         // You could store the rejection reason in a separate field
-        return workerRepository.save(worker);
+        WorkerProfile savedWorker = workerRepository.save(worker);
+        workerRegistry.register(savedWorker);
+        return savedWorker;
     }
     
     public List<Report> getPendingReports() {
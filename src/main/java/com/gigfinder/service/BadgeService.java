@@ -0,0 +1,69 @@
+package com.gigfinder.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * Unread badge counts for the current user's notifications and messages. Reads come from
+ * {@link UnreadCounters}; changes are applied once the causing write has committed and
+ * pushed to the user as a {@code BADGES} event so open apps need not poll.
+ */
+@Service
+@RequiredArgsConstructor
+public class BadgeService {
+
+    private final UnreadCounters unreadCounters;
+    private final NotificationDispatcher notificationDispatcher;
+
+    public UnreadCounters.Badges getBadges(Long userId) {
+        return unreadCounters.get(userId);
+    }
+
+    public void notificationsRead(Long userId, int count) {
+        apply(userId, -count, 0);
+    }
+
+    public void messageReceived(Long userId) {
+        apply(userId, 0, 1);
+    }
+
+    public void messageRead(Long userId) {
+        apply(userId, 0, -1);
+    }
+
+    private void apply(Long userId, long notificationsDelta, long messagesDelta) {
+        if (notificationsDelta == 0 && messagesDelta == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyNow(userId, notificationsDelta, messagesDelta);
+                }
+            });
+            return;
+        }
+        applyNow(userId, notificationsDelta, messagesDelta);
+    }
+
+    private void applyNow(Long userId, long notificationsDelta, long messagesDelta) {
+        UnreadCounters.Badges badges = unreadCounters.adjust(userId, notificationsDelta, messagesDelta);
+        if (badges != null) {
+            notificationDispatcher.dispatch(badgesEvent(badges, notificationsDelta, messagesDelta), userId);
+        }
+    }
+
+    static NotificationDispatcher.NotificationEvent badgesEvent(UnreadCounters.Badges badges,
+                                                                long notificationsDelta, long messagesDelta) {
+        return new NotificationDispatcher.NotificationEvent(null, null, "BADGES", Map.of(
+                "notifications", badges.notifications(),
+                "messages", badges.messages(),
+                "notificationsDelta", notificationsDelta,
+                "messagesDelta", messagesDelta));
+    }
+}
@@ -0,0 +1,60 @@
+package com.gigfinder.service;
+
+import com.gigfinder.model.User;
+import com.gigfinder.repository.ClientProfileRepository;
+import com.gigfinder.repository.UserRepository;
+import com.gigfinder.repository.WorkerProfileRepository;
+import com.gigfinder.security.CurrentUser;
+import com.gigfinder.util.SecurityUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * The authenticated caller, resolved from the principal rather than the database.
+ * Profile ids missing from older tokens fall back to an id-only query.
+ */
+@Service
+@RequiredArgsConstructor
+public class CurrentUserService {
+
+    private final UserRepository userRepository;
+    private final WorkerProfileRepository workerProfileRepository;
+    private final ClientProfileRepository clientProfileRepository;
+
+    public CurrentUser require() {
+        CurrentUser user = SecurityUtil.getCurrentUser();
+        if (user == null) {
+            throw new RuntimeException("Unauthorized");
+        }
+        return user;
+    }
+
+    public Long requireUserId() {
+        return require().getUserId();
+    }
+
+    public Long requireWorkerProfileId() {
+        CurrentUser user = require();
+        if (user.getWorkerProfileId() != null) {
+            return user.getWorkerProfileId();
+        }
+        return workerProfileRepository.findIdByUserId(user.getUserId())
+                .orElseThrow(() -> new RuntimeException("Worker profile not found"));
+    }
+
+    public Long requireClientProfileId() {
+        CurrentUser user = require();
+        if (user.getClientProfileId() != null) {
+            return user.getClientProfileId();
+        }
+        return clientProfileRepository.findIdByUserId(user.getUserId())
+                .orElseThrow(() -> new RuntimeException("Client profile not found"));
+    }
+
+    /**
+     * Uninitialized proxy for foreign keys and query parameters; never serialize it.
+     */
+    public User userReference() {
+        return userRepository.getReferenceById(requireUserId());
+    }
+}
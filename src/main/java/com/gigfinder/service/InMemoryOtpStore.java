@@ -0,0 +1,116 @@
+package com.gigfinder.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-node {@link OtpStore}. Entries are immutable and replaced through
+ * {@link ConcurrentHashMap#compute}, which serializes updates per phone.
+ */
+@Component
+@ConditionalOnProperty(name = "gigfinder.otp.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // codeHash is null once the code was consumed or discarded by a lockout
+    private record Entry(String codeHash, Instant expiresAt, int attempts, int sendCount,
+                         Instant windowStartedAt, Instant lockedUntil) {
+
+        boolean locked(Instant now) {
+            return lockedUntil != null && lockedUntil.isAfter(now);
+        }
+    }
+
+    @Override
+    public boolean issue(String phoneNumber, String codeHash, Instant now, Duration ttl, int maxSends,
+                         Duration sendWindow) {
+        boolean[] issued = {false};
+        entries.compute(phoneNumber, (phone, entry) -> {
+            if (entry != null && entry.locked(now)) {
+                return entry;
+            }
+            boolean windowOpen = entry != null && entry.windowStartedAt().plus(sendWindow).isAfter(now);
+            if (windowOpen && entry.sendCount() >= maxSends) {
+                return entry;
+            }
+            issued[0] = true;
+            return new Entry(codeHash, now.plus(ttl), 0,
+                    windowOpen ? entry.sendCount() + 1 : 1,
+                    windowOpen ? entry.windowStartedAt() : now,
+                    null);
+        });
+        return issued[0];
+    }
+
+    @Override
+    public VerifyResult verify(String phoneNumber, String codeHash, Instant now, int maxAttempts, Duration lockout) {
+        VerifyResult[] result = {VerifyResult.NOT_FOUND};
+        entries.computeIfPresent(phoneNumber, (phone, entry) -> {
+            if (entry.locked(now)) {
+                result[0] = VerifyResult.LOCKED;
+                return entry;
+            }
+            if (entry.codeHash() == null) {
+                return entry;
+            }
+            if (!entry.expiresAt().isAfter(now)) {
+                result[0] = VerifyResult.EXPIRED;
+                return withoutCode(entry, null);
+            }
+            if (matches(entry.codeHash(), codeHash)) {
+                result[0] = VerifyResult.VERIFIED;
+                return withoutCode(entry, null);
+            }
+            int attempts = entry.attempts() + 1;
+            if (attempts >= maxAttempts) {
+                result[0] = VerifyResult.LOCKED;
+                return withoutCode(entry, now.plus(lockout));
+            }
+            result[0] = VerifyResult.INVALID;
+            return new Entry(entry.codeHash(), entry.expiresAt(), attempts, entry.sendCount(),
+                    entry.windowStartedAt(), entry.lockedUntil());
+        });
+        return result[0];
+    }
+
+    @Override
+    public int evictExpired(Instant now, Duration sendWindow, int limit) {
+        int evicted = 0;
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && evicted < limit) {
+            Map.Entry<String, Entry> next = iterator.next();
+            if (evictable(next.getValue(), now, sendWindow) && entries.remove(next.getKey(), next.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    private static boolean evictable(Entry entry, Instant now, Duration sendWindow) {
+        return (entry.codeHash() == null || !entry.expiresAt().isAfter(now))
+                && !entry.locked(now)
+                && !entry.windowStartedAt().plus(sendWindow).isAfter(now);
+    }
+
+    private static Entry withoutCode(Entry entry, Instant lockedUntil) {
+        return new Entry(null, entry.expiresAt(), 0, entry.sendCount(), entry.windowStartedAt(), lockedUntil);
+    }
+
+    private static boolean matches(String expected, String actual) {
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), actual.getBytes(StandardCharsets.UTF_8));
+    }
+}
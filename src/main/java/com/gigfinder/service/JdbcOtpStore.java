@@ -0,0 +1,126 @@
+package com.gigfinder.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * {@link OtpStore} on the {@code otp_codes} table, shared by every node. Sends are a
+ * single conditional upsert, verification locks the phone's row, and eviction deletes
+ * in batches with {@code SKIP LOCKED} so concurrent sweepers never wait on each other
+ * or on an in-flight verify.
+ */
+@Component
+@ConditionalOnProperty(name = "gigfinder.otp.store", havingValue = "jdbc")
+@RequiredArgsConstructor
+public class JdbcOtpStore implements OtpStore {
+
+    private static final String ISSUE_SQL = """
+            INSERT INTO otp_codes (phone_number, code_hash, expires_at, attempts, send_count, window_started_at, locked_until)
+            VALUES (?, ?, ?, 0, 1, ?, NULL)
+            ON CONFLICT (phone_number) DO UPDATE SET
+                code_hash = EXCLUDED.code_hash,
+                expires_at = EXCLUDED.expires_at,
+                attempts = 0,
+                send_count = CASE WHEN otp_codes.window_started_at <= ? THEN 1 ELSE otp_codes.send_count + 1 END,
+                window_started_at = CASE WHEN otp_codes.window_started_at <= ?
+                    THEN EXCLUDED.window_started_at ELSE otp_codes.window_started_at END,
+                locked_until = NULL
+            WHERE (otp_codes.locked_until IS NULL OR otp_codes.locked_until <= ?)
+              AND (otp_codes.window_started_at <= ? OR otp_codes.send_count < ?)
+            """;
+
+    private static final String EVICT_SQL = """
+            DELETE FROM otp_codes WHERE phone_number IN (
+                SELECT phone_number FROM otp_codes
+                WHERE (code_hash IS NULL OR expires_at <= ?)
+                  AND (locked_until IS NULL OR locked_until <= ?)
+                  AND window_started_at <= ?
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private record Row(String codeHash, Instant expiresAt, int attempts, Instant lockedUntil) {
+    }
+
+    @Override
+    public boolean issue(String phoneNumber, String codeHash, Instant now, Duration ttl, int maxSends,
+                         Duration sendWindow) {
+        Timestamp windowCutoff = Timestamp.from(now.minus(sendWindow));
+        Timestamp nowTs = Timestamp.from(now);
+        return jdbcTemplate.update(ISSUE_SQL, phoneNumber, codeHash, Timestamp.from(now.plus(ttl)), nowTs,
+                windowCutoff, windowCutoff, nowTs, windowCutoff, maxSends) > 0;
+    }
+
+    @Override
+    public VerifyResult verify(String phoneNumber, String codeHash, Instant now, int maxAttempts, Duration lockout) {
+        return transactionTemplate.execute(status -> {
+            List<Row> rows = jdbcTemplate.query(
+                    "SELECT code_hash, expires_at, attempts, locked_until FROM otp_codes WHERE phone_number = ? FOR UPDATE",
+                    (rs, rowNum) -> new Row(rs.getString("code_hash"), toInstant(rs.getTimestamp("expires_at")),
+                            rs.getInt("attempts"), toInstant(rs.getTimestamp("locked_until"))),
+                    phoneNumber);
+            if (rows.isEmpty()) {
+                return VerifyResult.NOT_FOUND;
+            }
+            Row row = rows.get(0);
+            if (row.lockedUntil() != null && row.lockedUntil().isAfter(now)) {
+                return VerifyResult.LOCKED;
+            }
+            if (row.codeHash() == null) {
+                return VerifyResult.NOT_FOUND;
+            }
+            if (!row.expiresAt().isAfter(now)) {
+                clearCode(phoneNumber, null);
+                return VerifyResult.EXPIRED;
+            }
+            if (matches(row.codeHash(), codeHash)) {
+                clearCode(phoneNumber, null);
+                return VerifyResult.VERIFIED;
+            }
+            if (row.attempts() + 1 >= maxAttempts) {
+                clearCode(phoneNumber, Timestamp.from(now.plus(lockout)));
+                return VerifyResult.LOCKED;
+            }
+            jdbcTemplate.update("UPDATE otp_codes SET attempts = attempts + 1 WHERE phone_number = ?", phoneNumber);
+            return VerifyResult.INVALID;
+        });
+    }
+
+    @Override
+    public int evictExpired(Instant now, Duration sendWindow, int limit) {
+        Timestamp nowTs = Timestamp.from(now);
+        return jdbcTemplate.update(EVICT_SQL, nowTs, nowTs, Timestamp.from(now.minus(sendWindow)), limit);
+    }
+
+    @Override
+    public int size() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM otp_codes", Integer.class);
+        return count != null ? count : 0;
+    }
+
+    private void clearCode(String phoneNumber, Timestamp lockedUntil) {
+        jdbcTemplate.update("UPDATE otp_codes SET code_hash = NULL, attempts = 0, locked_until = ? WHERE phone_number = ?",
+                lockedUntil, phoneNumber);
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    private static boolean matches(String expected, String actual) {
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), actual.getBytes(StandardCharsets.UTF_8));
+    }
+}
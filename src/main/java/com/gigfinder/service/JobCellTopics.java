@@ -0,0 +1,79 @@
+package com.gigfinder.service;
+
+import com.gigfinder.util.Geohash;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Geohash-cell STOMP topics for new-job broadcasts. A job is published once per
+ * configured precision to the cell containing it; a worker subscribes to the cells of
+ * the finest precision that covers their service area in at most {@code max-cells}
+ * topics. Cells over-cover the radius, so clients filter on the job's coordinates.
+ */
+@Component
+public class JobCellTopics {
+
+    public static final String TOPIC_PREFIX = "/topic/jobs/cell/";
+
+    private final int[] precisions;
+    private final int maxCells;
+
+    /**
+     * Topics to subscribe to, plus the service area clients filter received jobs against.
+     */
+    public record CellSubscription(int precision, List<String> topics, double latitude, double longitude,
+                                   int radiusKm) {
+
+        // No location means no service area
+        public static CellSubscription none() {
+            return new CellSubscription(0, List.of(), 0, 0, 0);
+        }
+    }
+
+    public JobCellTopics(@Value("${gigfinder.notifications.job-cells.precisions:5,4,3}") int[] precisions,
+                         @Value("${gigfinder.notifications.job-cells.max-cells:25}") int maxCells) {
+        // Finest first, so subscriptions pick the smallest cells that fit
+        this.precisions = Arrays.stream(precisions).boxed()
+                .sorted((a, b) -> Integer.compare(b, a))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.maxCells = maxCells;
+    }
+
+    /**
+     * One topic per precision for the cell containing the job.
+     */
+    public List<String> topicsFor(double latitude, double longitude) {
+        List<String> topics = new ArrayList<>(precisions.length);
+        for (int precision : precisions) {
+            topics.add(TOPIC_PREFIX + Geohash.encode(latitude, longitude, precision));
+        }
+        return topics;
+    }
+
+    /**
+     * Topics a worker at the given location should subscribe to for new jobs within
+     * their radius, using the coarsest precision if no finer one fits.
+     */
+    public CellSubscription subscriptionFor(double latitude, double longitude, int radiusKm) {
+        int radius = Math.min(Math.max(radiusKm, 1), WorkerRegistry.MAX_RADIUS_KM);
+        for (int precision : precisions) {
+            List<String> cells = Geohash.covering(latitude, longitude, radius, precision, maxCells);
+            if (cells != null) {
+                return new CellSubscription(precision, toTopics(cells), latitude, longitude, radius);
+            }
+        }
+        int coarsest = precisions[precisions.length - 1];
+        return new CellSubscription(coarsest,
+                toTopics(Geohash.covering(latitude, longitude, radius, coarsest, Integer.MAX_VALUE)),
+                latitude, longitude, radius);
+    }
+
+    private static List<String> toTopics(List<String> cells) {
+        return cells.stream().map(cell -> TOPIC_PREFIX + cell).toList();
+    }
+}
@@ -1,36 +1,45 @@
 package com.gigfinder.service;
 
+import com.gigfinder.dto.CursorPageDTO;
 import com.gigfinder.dto.JobRequestDTO;
 import com.gigfinder.dto.JobResponseDTO;
 import com.gigfinder.dto.RatingDTO;
 import com.gigfinder.dto.RatingResponseDTO;
 import com.gigfinder.dto.ReportDTO;
+import com.gigfinder.dto.WorkerMatchDTO;
 import com.gigfinder.model.*;
 import com.gigfinder.model.enums.JobStatus;
-import com.gigfinder.model.enums.AssignmentStatus;
 import com.gigfinder.repository.*;
-import com.gigfinder.util.SecurityUtil;
+import com.gigfinder.util.CursorCodec;
+import com.gigfinder.util.GeoUtils;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import jakarta.persistence.criteria.Join;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class JobService {
 
     private final JobRepository jobRepository;
@@ -41,26 +50,29 @@ public class JobService {
     private final ClientProfileRepository clientProfileRepository;
     private final JobAssignmentRepository jobAssignmentRepository;
     private final WorkerProfileRepository workerProfileRepository;
-    private final RatingRepository ratingRepository;
     private final ReportRepository reportRepository;
-    private final NotificationRepository notificationRepository;
+    private final OpenJobIndex openJobIndex;
+    private final WorkerJobFeed workerJobFeed;
+    private final WorkerMatchingService workerMatchingService;
+    private final WorkerRegistry workerRegistry;
+    private final CurrentUserService currentUserService;
+    private final RatingAggregateService ratingAggregateService;
+    private final RatingHistoryService ratingHistoryService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
 
-    public JobResponseDTO createJob(JobRequestDTO request) {
+    public static final int MAX_PAGE_SIZE = 50;
 
-        // 1️⃣ Get current user
-        String username = SecurityUtil.getCurrentUsername();
-        if (username == null) {
-            throw new RuntimeException("Unauthorized");
-        }
+    @Value("${gigfinder.matching.fanout-limit:50}")
+    private int newJobFanoutLimit;
 
-        // 2️⃣ Get client profile
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        ClientProfile clientProfile = clientProfileRepository.findByUser(user)
+    public JobResponseDTO createJob(JobRequestDTO request) {
+
+        // 1️⃣ Get the client profile of the current user; its id comes from the token
+        ClientProfile clientProfile = clientProfileRepository.findById(currentUserService.requireClientProfileId())
                 .orElseThrow(() -> new RuntimeException("Client profile not found"));
 
-        // 3️⃣ Get category and subcategory
+        // 2️⃣ Get category and subcategory
         Category category = null;
         if (request.getCategoryId() != null) {
             category = categoryRepository.findById(request.getCategoryId())
@@ -73,7 +85,7 @@ public class JobService {
                     .orElseThrow(() -> new RuntimeException("SubCategory not found"));
         }
 
-        // 4️⃣ Build and save job
+        // 3️⃣ Build and save job
         Job job = Job.builder()
                 .title(request.getTitle())
                 .description(request.getDescription())
@@ -83,24 +95,36 @@ public class JobService {
                 .address(request.getAddress())
                 .status(JobStatus.OPEN)
                 .client(clientProfile)
+                .locationLat(clientProfile.getLocationLat())
+                .locationLng(clientProfile.getLocationLng())
                 .build();
 
         Job savedJob = jobRepository.save(job);
-        
-        // Notify nearby workers about new job
-        List<WorkerProfile> nearbyWorkers = getNearbyWorkers(clientProfile.getLocationLat(), clientProfile.getLocationLng());
-        for (WorkerProfile worker : nearbyWorkers) {
-            notificationService.sendNewJobAvailable(worker.getUser().getId(), savedJob.getId(), savedJob.getTitle());
+        JobResponseDTO response = convertToResponseDTO(savedJob);
+        OpenJobIndex.IndexedJob indexed = indexOpenJob(savedJob, response);
+
+        // 4️⃣ Publish the job once to its geo-cell topics; nearby workers are subscribed to them
+        if (indexed != null) {
+            notificationService.broadcastNewJob(savedJob.getId(), savedJob.getTitle(),
+                    GeoUtils.fromMicroDegrees(indexed.latE6()), GeoUtils.fromMicroDegrees(indexed.lngE6()));
+        }
+
+        // Optionally also push to the best-ranked workers' own topics;
+        // ranking and delivery run on the notification dispatcher, not the request thread
+        if (newJobFanoutLimit > 0) {
+            notificationService.sendNewJobAvailable(
+                    () -> workerMatchingService.rankWorkers(savedJob, newJobFanoutLimit).stream()
+                            .map(WorkerMatchDTO::getUserId)
+                            .collect(Collectors.toList()),
+                    savedJob.getId(), savedJob.getTitle());
         }
         
-        return convertToResponseDTO(savedJob);
+        return response;
     }
 
-    public List<JobResponseDTO> getAllOpenJobs() {
-        return jobRepository.findByStatusOrderByCreatedAtDesc(JobStatus.OPEN)
-                .stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<JobResponseDTO> getAllOpenJobs(String cursor, int size) {
+        Specification<Job> spec = (root, query, cb) -> cb.equal(root.get("status"), JobStatus.OPEN);
+        return findPage(spec, cursor, size);
     }
 
     public JobResponseDTO getJobById(Long id) {
@@ -109,237 +133,171 @@ public class JobService {
         return convertToResponseDTO(job);
     }
 
-    public List<JobResponseDTO> getMyJobs() {
-        String username = SecurityUtil.getCurrentUsername();
-        if (username == null) {
-            throw new RuntimeException("Unauthorized");
-        }
-
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public CursorPageDTO<JobResponseDTO> getMyJobs(String cursor, int size) {
+        Long userId = currentUserService.requireUserId();
 
-        return jobRepository.findByClientUser(user)
-                .stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        Specification<Job> spec = (root, query, cb) -> cb.equal(root.get("client").get("user").get("id"), userId);
+        return findPage(spec, cursor, size);
     }
     
+    /**
+     * Claims an open job for the current worker. The claim is one conditional UPDATE, so
+     * when many workers accept the same job at once exactly one wins; the others fail
+     * fast with a conflict instead of racing on the assignment's unique constraint.
+     */
     public JobResponseDTO acceptJob(Long jobId) {
-        // 1️⃣ Get the username (email) of the logged in user
-        String username = SecurityUtil.getCurrentUsername();
-        if (username == null) {
-            throw new RuntimeException("Unauthorized");
-        }
+        return inTransition(JobTransition.ACCEPT, () -> {
+            // 1️⃣ Find the WorkerProfile of the logged in user
+            WorkerProfile workerProfile = workerProfileRepository.findById(currentUserService.requireWorkerProfileId())
+                    .orElseThrow(() -> new RuntimeException("Worker profile not found"));
+
+            // 2️⃣ Atomically move the job from OPEN to ASSIGNED
+            LocalDateTime acceptedAt = LocalDateTime.now();
+            int claimed = jobRepository.claimOpenJob(jobId, workerProfile.getUser(), acceptedAt,
+                    JobStatus.OPEN, JobTransition.ACCEPT.jobStatus());
+            Job job = jobRepository.findById(jobId)
+                    .orElseThrow(() -> new RuntimeException("Job not found"));
+            if (claimed == 0) {
+                throw JobTransition.ACCEPT.notAllowed(job.getStatus());
+            }
 
-        // 2️⃣ Find the User and WorkerProfile for this user
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+            // 3️⃣ Create job assignment in the same transaction as the claim
+            JobAssignment assignment = JobAssignment.builder()
+                    .job(job)
+                    .worker(workerProfile)
+                    .status(JobTransition.ACCEPT.assignmentStatus())
+                    .assignedAt(acceptedAt)
+                    .build();
+
+            jobAssignmentRepository.save(assignment);
+            unindexOpenJob(jobId);
+
+            // 4️⃣ Queue inbox notifications for worker and client, plus the real-time push to the client
+            notificationService.saveNotification(workerProfile.getUser().getId(), "Job Assigned",
+                    "You have been assigned to: " + job.getTitle());
+            notificationService.saveNotification(job.getClient().getUser().getId(), "Job Accepted",
+                    "Your job '" + job.getTitle() + "' has been accepted by " + workerProfile.getUser().getName());
+            notificationService.sendJobAccepted(job.getClient().getUser().getId(), jobId, workerProfile.getUser().getName());
+
+            return convertToResponseDTO(job);
+        });
+    }
 
-        WorkerProfile workerProfile = workerProfileRepository.findByUser(user)
-                .orElseThrow(() -> new RuntimeException("Worker profile not found"));
+    public JobResponseDTO startJob(Long jobId) {
+        return inTransition(JobTransition.START, () -> advanceAssignedJob(jobId, JobTransition.START));
+    }
 
-        // 3️⃣ Find the job and validate it can be accepted
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new RuntimeException("Job not found"));
+    public JobResponseDTO completeJob(Long jobId) {
+        return inTransition(JobTransition.COMPLETE, () -> advanceAssignedJob(jobId, JobTransition.COMPLETE));
+    }
 
-        if (job.getStatus() != JobStatus.OPEN) {
-            throw new RuntimeException("Job is not available for acceptance");
+    /**
+     * Moves an assigned job and its assignment forward for the assigned worker. The job's
+     * status changes with one conditional UPDATE, so of two concurrent transitions only
+     * one succeeds; the assignment follows in the same transaction.
+     */
+    private JobResponseDTO advanceAssignedJob(Long jobId, JobTransition transition) {
+        // 1️⃣ The worker profile id of the logged in user, from the token
+        Long workerProfileId = currentUserService.requireWorkerProfileId();
+
+        // 2️⃣ Load the assignment with its job, client and worker in one statement
+        JobAssignment assignment = jobAssignmentRepository.findWithDetailsByJobId(jobId).orElse(null);
+        if (assignment == null) {
+            Job job = jobRepository.findById(jobId)
+                    .orElseThrow(() -> new RuntimeException("Job not found"));
+            throw transition.notAllowed(job.getStatus());
         }
+        Job job = assignment.getJob();
 
-        if (jobAssignmentRepository.existsByJob(job)) {
-            throw new RuntimeException("Job is already assigned");
+        // 3️⃣ Validate the transition and that this worker is the one assigned
+        if (!transition.allowedFrom(job.getStatus())) {
+            throw transition.notAllowed(job.getStatus());
         }
-
-        // 4️⃣ Create job assignment
-        JobAssignment assignment = JobAssignment.builder()
-                .job(job)
-                .worker(workerProfile)
-                .status(AssignmentStatus.ASSIGNED)
-                .assignedAt(LocalDateTime.now())
-                .build();
-
-        jobAssignmentRepository.save(assignment);
-
-        // 5️⃣ Create notification for worker
-        Notification workerNotification = Notification.builder()
-                .user(workerProfile.getUser())
-                .title("Job Assigned")
-                .message("You have been assigned to: " + job.getTitle())
-                .readStatus(false)
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        // Save notification for worker
-        notificationRepository.save(workerNotification);
-
-        // 6️⃣ Create notification for client
-        Notification clientNotification = Notification.builder()
-                .user(job.getClient().getUser())
-                .title("Job Accepted")
-                .message("Your job '" + job.getTitle() + "' has been accepted by " + workerProfile.getUser().getName())
-                .readStatus(false)
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        // Save notification for client
-        notificationRepository.save(clientNotification);
-
-        job.setStatus(JobStatus.ASSIGNED);
-        job.setWorker(workerProfile.getUser());
-        job.setAcceptedAt(LocalDateTime.now());
-        jobRepository.save(job);
-        
-        // Send real-time notification to client
-        notificationService.sendJobAccepted(job.getClient().getUser().getId(), jobId, workerProfile.getUser().getName());
-        
-        return convertToResponseDTO(job);
-    }
-    
-    public JobResponseDTO completeJob(Long jobId) {
-        // 1️⃣ Get the username (email) of the logged in user
-        String username = SecurityUtil.getCurrentUsername();
-        if (username == null) {
-            throw new RuntimeException("Unauthorized");
+        if (!assignment.getWorker().getId().equals(workerProfileId)) {
+            throw new RuntimeException("Not authorized to " + transition.tag() + " this job");
         }
 
-        // 2️⃣ Find the User and WorkerProfile for this user
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        WorkerProfile workerProfile = workerProfileRepository.findByUser(user)
-                .orElseThrow(() -> new RuntimeException("Worker profile not found"));
-
-        // 3️⃣ Find the job and validate it can be completed
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new RuntimeException("Job not found"));
-
-        if (job.getStatus() != JobStatus.ASSIGNED) {
-            throw new RuntimeException("Job cannot be completed - not in ASSIGNED status");
+        // 4️⃣ Apply the new states; the UPDATE re-checks the status under the row lock
+        if (jobRepository.advanceStatus(jobId, transition.from(), transition.jobStatus()) == 0) {
+            JobStatus current = jobRepository.findStatusById(jobId).orElse(job.getStatus());
+            throw transition.notAllowed(current);
         }
-
-        // 4️⃣ Check if this worker is actually assigned to this job
-        JobAssignment assignment = jobAssignmentRepository.findByJob(job)
-                .orElseThrow(() -> new RuntimeException("Job assignment not found"));
-
-        if (!assignment.getWorker().getId().equals(workerProfile.getId())) {
-            throw new RuntimeException("Not authorized to complete this job");
+        LocalDateTime now = LocalDateTime.now();
+        assignment.setStatus(transition.assignmentStatus());
+        job.setStatus(transition.jobStatus());
+        String workerName = assignment.getWorker().getUser().getName();
+        Long clientUserId = job.getClient().getUser().getId();
+
+        // 5️⃣ Queue the client's inbox notification and real-time push
+        if (transition == JobTransition.START) {
+            assignment.setStartedAt(now);
+            notificationService.saveNotification(clientUserId, "Job Started",
+                    "Your job '" + job.getTitle() + "' has been started by " + workerName);
+            notificationService.sendJobStarted(clientUserId, jobId);
+        } else {
+            assignment.setCompletedAt(now);
+            notificationService.saveNotification(clientUserId, "Job Completed",
+                    "Your job '" + job.getTitle() + "' has been completed by " + workerName);
+            notificationService.sendJobCompleted(clientUserId, jobId);
         }
 
-        // 5️⃣ Update job assignment status
-        assignment.setStatus(AssignmentStatus.COMPLETED);
-        assignment.setCompletedAt(LocalDateTime.now());
-        jobAssignmentRepository.save(assignment);
-
-        // 6️⃣ Create notification for client
-        Notification clientNotification = Notification.builder()
-                .user(job.getClient().getUser())
-                .title("Job Completed")
-                .message("Your job '" + job.getTitle() + "' has been completed by " + workerProfile.getUser().getName())
-                .readStatus(false)
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        // Save notification for client
-        notificationRepository.save(clientNotification);
-
-        // 7️⃣ Update job status
-        job.setStatus(JobStatus.COMPLETED);
-        jobRepository.save(job);
-
-        // Send real-time notification to client
-        notificationService.sendJobCompleted(job.getClient().getUser().getId(), jobId);
-
         return convertToResponseDTO(job);
     }
 
-    public JobResponseDTO startJob(Long jobId) {
-        // 1️⃣ Get the username (email) of the logged in user
-        String username = SecurityUtil.getCurrentUsername();
-        if (username == null) {
-            throw new RuntimeException("Unauthorized");
-        }
-
-        // 2️⃣ Find the User and WorkerProfile for this user
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        WorkerProfile workerProfile = workerProfileRepository.findByUser(user)
-                .orElseThrow(() -> new RuntimeException("Worker profile not found"));
-
-        // 3️⃣ Find the job and validate it can be started
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new RuntimeException("Job not found"));
-
-        if (job.getStatus() != JobStatus.ASSIGNED) {
-            throw new RuntimeException("Job cannot be started - not in ASSIGNED status");
+    /**
+     * Runs one lifecycle transition as a single transaction and records its latency,
+     * commit included. Notifications queued inside are only dispatched after the commit.
+     */
+    private JobResponseDTO inTransition(JobTransition transition, Supplier<JobResponseDTO> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            JobResponseDTO result = transactionTemplate.execute(status -> action.get());
+            outcome = "success";
+            return result;
+        } catch (JobTransition.NotAllowedException e) {
+            outcome = "conflict";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("jobs.transition.duration", "transition", transition.tag(), "outcome", outcome));
         }
+    }
 
-        // 4️⃣ Check if this worker is actually assigned to this job
-        JobAssignment assignment = jobAssignmentRepository.findByJob(job)
-                .orElseThrow(() -> new RuntimeException("Job assignment not found"));
-
-        if (!assignment.getWorker().getId().equals(workerProfile.getId())) {
-            throw new RuntimeException("Not authorized to start this job");
+    public CursorPageDTO<JobResponseDTO> getNearbyJobs(Double latitude, Double longitude, Double radiusKm,
+                                                       String cursor, int size) {
+        ensureOpenJobIndexWarm();
+
+        // Results are nearest first, so the keyset is (distance, id) rather than (createdAt, id)
+        int pageSize = clampPageSize(size);
+        long[] position = CursorCodec.decode(cursor, 2);
+        List<JobResponseDTO> items = new ArrayList<>(pageSize);
+        OpenJobIndex.NearbyJob last = null;
+        boolean hasMore = false;
+        // The endpoint is public, so the radius is bounded like a worker's service radius
+        double radius = Math.min(Math.max(radiusKm, 0), WorkerRegistry.MAX_RADIUS_KM);
+        for (OpenJobIndex.NearbyJob nearby : openJobIndex.findWithin(latitude, longitude, radius)) {
+            if (position != null && !isAfter(nearby, Double.longBitsToDouble(position[0]), position[1])) {
+                continue;
+            }
+            if (items.size() == pageSize) {
+                hasMore = true;
+                break;
+            }
+            items.add(nearby.job().toBuilder()
+                    .distanceKm(Math.round(nearby.distanceKm() * 100) / 100.0)
+                    .build());
+            last = nearby;
         }
 
-        // 5️⃣ Update job assignment status
-        assignment.setStatus(AssignmentStatus.IN_PROGRESS);
-        assignment.setStartedAt(LocalDateTime.now());
-        jobAssignmentRepository.save(assignment);
-
-        // 6️⃣ Create notification for client
-        Notification clientNotification = Notification.builder()
-                .user(job.getClient().getUser())
-                .title("Job Started")
-                .message("Your job '" + job.getTitle() + "' has been started by " + workerProfile.getUser().getName())
-                .readStatus(false)
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        // Save notification for client
-        notificationRepository.save(clientNotification);
-
-        // 7️⃣ Update job status
-        job.setStatus(JobStatus.IN_PROGRESS);
-        jobRepository.save(job);
-
-        // Send real-time notification
-        notificationService.sendJobStarted(job.getClient().getUser().getId(), jobId);
-
-        return convertToResponseDTO(job);
-    }
-
-    public List<JobResponseDTO> getNearbyJobs(Double latitude, Double longitude, Double radiusKm) {
-        // Calculate bounding box for radius search
-        double latDelta = radiusKm / 111.0; // 1 degree latitude ≈ 111 km
-        double lonDelta = radiusKm / (111.0 * Math.cos(Math.toRadians(latitude)));
-        
-        double minLat = latitude - latDelta;
-        double maxLat = latitude + latDelta;
-        double minLon = longitude - lonDelta;
-        double maxLon = longitude + lonDelta;
-        
-        List<Job> nearbyJobs = jobRepository.findByLocationWithinBounds(
-            minLat, maxLat, minLon, maxLon, JobStatus.OPEN);
-        
-        return nearbyJobs.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        String nextCursor = hasMore
+                ? CursorCodec.encode(Double.doubleToLongBits(last.distanceKm()), last.job().getId())
+                : null;
+        return new CursorPageDTO<>(items, nextCursor);
     }
     
     public String rateJob(Long jobId, RatingDTO ratingDTO) {
-        // 1️⃣ Get the username (email) of the logged in user
-        String username = SecurityUtil.getCurrentUsername();
-        if (username == null) {
-            throw new RuntimeException("Unauthorized");
-        }
-
-        // 2️⃣ Find the User and ClientProfile for this user
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        ClientProfile clientProfile = clientProfileRepository.findByUser(user)
-                .orElseThrow(() -> new RuntimeException("Client profile not found"));
+        // 1️⃣ The client profile id of the logged in user, from the token
+        Long clientProfileId = currentUserService.requireClientProfileId();
 
         // 3️⃣ Find the job and validate it can be rated
         Job job = jobRepository.findById(jobId)
@@ -349,7 +307,7 @@ public class JobService {
             throw new RuntimeException("Job cannot be rated - not completed yet");
         }
 
-        if (!job.getClient().getId().equals(clientProfile.getId())) {
+        if (!job.getClient().getId().equals(clientProfileId)) {
             throw new RuntimeException("Not authorized to rate this job");
         }
 
@@ -359,37 +317,25 @@ public class JobService {
 
         WorkerProfile worker = assignment.getWorker();
 
-        // 5️⃣ Create and save the rating
+        // 5️⃣ Build the rating
         Rating rating = Rating.builder()
                 .job(job)
-                .reviewer(user)  // The client who is rating
+                .reviewer(currentUserService.userReference())  // The client who is rating
                 .reviewee(worker.getUser())  // The worker being rated
                 .score(ratingDTO.getRating())
                 .comment(ratingDTO.getComment())
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        // Save rating
-        ratingRepository.save(rating);
-
-        // 6️⃣ Update worker's average rating
-        BigDecimal newAverage = calculateNewAverage(worker, ratingDTO.getRating());
-        worker.setRatingAvg(newAverage);
-        workerProfileRepository.save(worker);
+        // 6️⃣ Save the rating and update the worker's running aggregates in one transaction
+        ratingAggregateService.saveRating(rating);
 
         return "Rating submitted successfully";
     }
     
     public String reportUser(ReportDTO reportDTO) {
-        // 1️⃣ Get the username (email) of the logged in user
-        String username = SecurityUtil.getCurrentUsername();
-        if (username == null) {
-            throw new RuntimeException("Unauthorized");
-        }
-
-        // 2️⃣ Find the User making the report
-        User reporter = userRepository.findByEmail(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        // 1️⃣ The User making the report
+        User reporter = currentUserService.userReference();
 
         // 3️⃣ Find the User being reported
         User reportedUser = userRepository.findById(reportDTO.getReportedUserId())
@@ -415,29 +361,13 @@ public class JobService {
         return "Report submitted successfully";
     }
     
-    public List<RatingResponseDTO> getRatingHistory() {
-        try {
-            String username = SecurityUtil.getCurrentUsername();
-            if (username == null) {
-                throw new RuntimeException("Unauthorized");
-            }
-
-            User user = userRepository.findByEmail(username)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            List<Rating> ratings = ratingRepository.findByReviewee(user);
-            
-            return ratings.stream()
-                    .map(this::convertToRatingResponseDTO)
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            throw new RuntimeException("Error fetching rating history: " + e.getMessage());
-        }
+    public CursorPageDTO<RatingResponseDTO> getRatingHistory(String sort, String cursor, int size) {
+        return ratingHistoryService.getHistory(currentUserService.requireUserId(),
+                RatingHistoryService.Sort.from(sort), cursor, size);
     }
 
-    public List<JobResponseDTO> searchJobs(String location, String category, Double minPrice, Double maxPrice, String status, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        
+    public CursorPageDTO<JobResponseDTO> searchJobs(String location, String category, Double minPrice, Double maxPrice,
+                                                    String status, String cursor, int size) {
         Specification<Job> spec = Specification.where(null);
         
         if (location != null && !location.trim().isEmpty()) {
@@ -467,34 +397,31 @@ public class JobService {
                 cb.equal(root.get("status"), JobStatus.valueOf(status.toUpperCase())));
         }
         
-        Page<Job> jobPage = jobRepository.findAll(spec, pageable);
-        return jobPage.getContent().stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return findPage(spec, cursor, size);
     }
 
-    public List<JobResponseDTO> getJobsForWorker() {
-        String username = SecurityUtil.getCurrentUsername();
-        if (username == null) {
-            throw new RuntimeException("Unauthorized");
-        }
-
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        WorkerProfile workerProfile = workerProfileRepository.findByUser(user)
-                .orElseThrow(() -> new RuntimeException("Worker profile not found"));
-
-        if (workerProfile.getLocationLat() == null || workerProfile.getLocationLng() == null) {
-            return getAllOpenJobs(); // Return all jobs if no location set
+    public CursorPageDTO<JobResponseDTO> getJobsForWorker(String cursor, int size) {
+        Long workerProfileId = currentUserService.requireWorkerProfileId();
+
+        // Location and radius come from the in-memory registry; only unregistered workers hit the database
+        WorkerRegistry.RegisteredWorker worker = workerRegistry.get(workerProfileId);
+        if (worker == null) {
+            WorkerProfile workerProfile = workerProfileRepository.findById(workerProfileId)
+                    .orElseThrow(() -> new RuntimeException("Worker profile not found"));
+            if (workerProfile.getLocationLat() == null || workerProfile.getLocationLng() == null) {
+                // No location means no service area, so there is nothing to match against
+                return new CursorPageDTO<>(List.of(), null);
+            }
+            workerRegistry.register(workerProfile);
+            worker = workerRegistry.get(workerProfileId);
         }
 
-        // Get jobs within worker's service radius
-        double latitude = workerProfile.getLocationLat().doubleValue();
-        double longitude = workerProfile.getLocationLng().doubleValue();
-        double radiusKm = workerProfile.getRadiusKm().doubleValue();
+        ensureOpenJobIndexWarm();
 
-        return getNearbyJobs(latitude, longitude, radiusKm);
+        // Read the worker's materialized feed of open jobs within their service radius
+        int pageSize = clampPageSize(size);
+        return workerJobFeed.read(workerProfileId, worker.latitude(), worker.longitude(),
+                worker.radiusKm(), cursor, pageSize);
     }
 
     public Map<String, List<String>> getJobCategories() {
@@ -550,68 +477,111 @@ public class JobService {
         return categories;
     }
     
-    private List<WorkerProfile> getNearbyWorkers(BigDecimal clientLat, BigDecimal clientLng) {
-        if (clientLat == null || clientLng == null) {
-            return List.of(); // Return empty list if client location not set
+    // Keyset pagination, newest first: the cursor is the (createdAt, id) of the last job served
+    private CursorPageDTO<JobResponseDTO> findPage(Specification<Job> spec, String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        long[] position = CursorCodec.decode(cursor, 2);
+        if (position != null) {
+            LocalDateTime createdAt = CursorCodec.fromEpochMicros(position[0]);
+            Long id = position[1];
+            spec = spec.and((root, query, cb) -> cb.or(
+                    cb.lessThan(root.get("createdAt"), createdAt),
+                    cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id))));
         }
-        
-        double latitude = clientLat.doubleValue();
-        double longitude = clientLng.doubleValue();
-        double searchRadius = 10.0; // 10 km radius
-        
-        // Calculate bounding box for radius search
-        double latDelta = searchRadius / 111.0; // 1 degree latitude ≈ 111 km
-        double lonDelta = searchRadius / (111.0 * Math.cos(Math.toRadians(latitude)));
-        
-        double minLat = latitude - latDelta;
-        double maxLat = latitude + latDelta;
-        double minLon = longitude - lonDelta;
-        double maxLon = longitude + lonDelta;
-        
-        return workerProfileRepository.findByLocationWithinBounds(
-            BigDecimal.valueOf(minLat), 
-            BigDecimal.valueOf(maxLat), 
-            BigDecimal.valueOf(minLon), 
-            BigDecimal.valueOf(maxLon)
-        );
+
+        // One extra row tells whether there is a next page without a count query
+        List<JobResponseDTO> rows = jobRepository.findJobSummaries(spec,
+                Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")), pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<JobResponseDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            JobResponseDTO last = items.get(pageSize - 1);
+            nextCursor = CursorCodec.encode(CursorCodec.toEpochMicros(last.getCreatedAt()), last.getId());
+        }
+        return new CursorPageDTO<>(items, nextCursor);
     }
-    
-    private BigDecimal calculateNewAverage(WorkerProfile worker, Integer newRating) {
-        // Get current average and count
-        BigDecimal currentAvg = ratingRepository.getAverageRatingByReviewee(worker.getUser());
-        Long currentCount = ratingRepository.getRatingCountByReviewee(worker.getUser());
-        
-        if (currentAvg == null) {
-            // First rating
-            return BigDecimal.valueOf(newRating);
+
+    // Nearest first, ties broken by newest job, matching OpenJobIndex.findWithin
+    private static boolean isAfter(OpenJobIndex.NearbyJob nearby, double distanceKm, long jobId) {
+        int byDistance = Double.compare(nearby.distanceKm(), distanceKm);
+        return byDistance > 0 || (byDistance == 0 && nearby.job().getId() < jobId);
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    // Returns the index entry, or null when the job has no location
+    private OpenJobIndex.IndexedJob indexOpenJob(Job job, JobResponseDTO response) {
+        OpenJobIndex.IndexedJob entry = toIndexedJob(job, response);
+        if (entry != null) {
+            openJobIndex.put(entry);
+            workerJobFeed.onJobOpened(job.getId(), GeoUtils.fromMicroDegrees(entry.latE6()),
+                    GeoUtils.fromMicroDegrees(entry.lngE6()));
         }
-        
-        // Calculate new average: (current_avg * current_count + new_rating) / (current_count + 1)
-        BigDecimal totalSum = currentAvg.multiply(BigDecimal.valueOf(currentCount))
-                .add(BigDecimal.valueOf(newRating));
-        BigDecimal newCount = BigDecimal.valueOf(currentCount + 1);
-        
-        return totalSum.divide(newCount, 2, BigDecimal.ROUND_HALF_UP);
+        return entry;
     }
-    
-    private RatingResponseDTO convertToRatingResponseDTO(Rating rating) {
-        return RatingResponseDTO.builder()
-                .id(rating.getId())
-                .jobTitle(rating.getJob().getTitle())
-                .reviewerName(rating.getReviewer().getName())
-                .revieweeName(rating.getReviewee().getName())
-                .score(rating.getScore())
-                .comment(rating.getComment())
-                .createdAt(rating.getCreatedAt())
-                .build();
+
+    // Only once the claim commits; a rolled-back claim leaves the job open and indexed
+    private void unindexOpenJob(Long jobId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    unindexOpenJobNow(jobId);
+                }
+            });
+            return;
+        }
+        unindexOpenJobNow(jobId);
+    }
+
+    private void unindexOpenJobNow(Long jobId) {
+        openJobIndex.remove(jobId);
+        workerJobFeed.onJobClosed(jobId);
+    }
+
+    private void ensureOpenJobIndexWarm() {
+        if (!openJobIndex.isWarm()) {
+            // Cold start: load every open job once, afterwards the index is kept current by the lifecycle methods
+            openJobIndex.warmUp(this::loadOpenJobsForIndex);
+        }
+    }
+
+    private List<OpenJobIndex.IndexedJob> loadOpenJobsForIndex() {
+        List<OpenJobIndex.IndexedJob> entries = new ArrayList<>();
+        for (Job job : jobRepository.findWithDetailsByStatus(JobStatus.OPEN)) {
+            // One malformed row must not keep the whole index cold
+            try {
+                OpenJobIndex.IndexedJob entry = toIndexedJob(job, convertToResponseDTO(job));
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Skipping open job {} in the nearby index: {}", job.getId(), e.toString());
+            }
+        }
+        return entries;
     }
 
+    // Jobs carry their own location; older rows fall back to the client's location
+    private OpenJobIndex.IndexedJob toIndexedJob(Job job, JobResponseDTO response) {
+        BigDecimal lat = job.getLocationLat() != null ? job.getLocationLat() : job.getClient().getLocationLat();
+        BigDecimal lng = job.getLocationLng() != null ? job.getLocationLng() : job.getClient().getLocationLng();
+        if (lat == null || lng == null) {
+            return null;
+        }
+        return new OpenJobIndex.IndexedJob(job.getId(), GeoUtils.toMicroDegrees(lat), GeoUtils.toMicroDegrees(lng), response);
+    }
+    
     private JobResponseDTO convertToResponseDTO(Job job) {
         return JobResponseDTO.builder()
                 .id(job.getId())
                 .title(job.getTitle())
                 .description(job.getDescription())
-                .categoryName(job.getCategory().getName())
+                .categoryName(job.getCategory() != null ? job.getCategory().getName() : null)
                 .subCategoryName(job.getSubCategory() != null ? job.getSubCategory().getName() : null)
                 .budget(job.getBudget())
                 .address(job.getAddress())
@@ -0,0 +1,65 @@
+package com.gigfinder.service;
+
+import com.gigfinder.model.enums.AssignmentStatus;
+import com.gigfinder.model.enums.JobStatus;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Worker-driven job lifecycle transitions: the job states each may leave from and the
+ * job and assignment states it moves to.
+ */
+enum JobTransition {
+
+    ACCEPT("accepted", Set.of(JobStatus.OPEN), JobStatus.ASSIGNED, AssignmentStatus.ASSIGNED),
+    START("started", Set.of(JobStatus.ASSIGNED), JobStatus.IN_PROGRESS, AssignmentStatus.IN_PROGRESS),
+    COMPLETE("completed", Set.of(JobStatus.ASSIGNED, JobStatus.IN_PROGRESS), JobStatus.COMPLETED, AssignmentStatus.COMPLETED);
+
+    private final String pastTense;
+    private final Set<JobStatus> from;
+    private final JobStatus jobStatus;
+    private final AssignmentStatus assignmentStatus;
+
+    JobTransition(String pastTense, Set<JobStatus> from, JobStatus jobStatus, AssignmentStatus assignmentStatus) {
+        this.pastTense = pastTense;
+        this.from = from;
+        this.jobStatus = jobStatus;
+        this.assignmentStatus = assignmentStatus;
+    }
+
+    /**
+     * The job is not in a state this transition may leave from. The message still says
+     * "cannot", which the controllers map to 409.
+     */
+    static final class NotAllowedException extends RuntimeException {
+
+        NotAllowedException(String message) {
+            super(message);
+        }
+    }
+
+    boolean allowedFrom(JobStatus status) {
+        return from.contains(status);
+    }
+
+    Collection<JobStatus> from() {
+        return from;
+    }
+
+    NotAllowedException notAllowed(JobStatus status) {
+        return new NotAllowedException("Job cannot be " + pastTense + " - it is " + status);
+    }
+
+    String tag() {
+        return name().toLowerCase();
+    }
+
+    JobStatus jobStatus() {
+        return jobStatus;
+    }
+
+    AssignmentStatus assignmentStatus() {
+        return assignmentStatus;
+    }
+}
@@ -7,7 +7,6 @@ import com.gigfinder.model.User;
 import com.gigfinder.repository.JobRepository;
 import com.gigfinder.repository.MessageRepository;
 import com.gigfinder.repository.UserRepository;
-import com.gigfinder.util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -21,11 +20,11 @@ public class MessageService {
     private final MessageRepository messageRepository;
     private final UserRepository userRepository;
     private final JobRepository jobRepository;
+    private final CurrentUserService currentUserService;
+    private final BadgeService badgeService;
     
     public Message sendMessage(MessageDTO messageDTO) {
-        String username = SecurityUtil.getCurrentUsername();
-        User sender = userRepository.findByEmail(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User sender = loadCurrentUser();
         
         User receiver = userRepository.findById(messageDTO.getReceiverId())
                 .orElseThrow(() -> new RuntimeException("Receiver not found"));
@@ -45,13 +44,13 @@ public class MessageService {
                 .isRead(false)
                 .build();
         
-        return messageRepository.save(message);
+        Message saved = messageRepository.save(message);
+        badgeService.messageReceived(receiver.getId());
+        return saved;
     }
     
     public List<Message> getConversation(Long userId) {
-        String username = SecurityUtil.getCurrentUsername();
-        User currentUser = userRepository.findByEmail(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User currentUser = loadCurrentUser();
         
         User otherUser = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -60,25 +59,19 @@ public class MessageService {
     }
     
     public List<Message> getReceivedMessages() {
-        String username = SecurityUtil.getCurrentUsername();
-        User currentUser = userRepository.findByEmail(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User currentUser = loadCurrentUser();
         
         return messageRepository.findByReceiverOrderByCreatedAtDesc(currentUser);
     }
     
     public List<Message> getSentMessages() {
-        String username = SecurityUtil.getCurrentUsername();
-        User currentUser = userRepository.findByEmail(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User currentUser = loadCurrentUser();
         
         return messageRepository.findBySenderOrderByCreatedAtDesc(currentUser);
     }
     
     public Message markAsRead(Long messageId) {
-        String username = SecurityUtil.getCurrentUsername();
-        User currentUser = userRepository.findByEmail(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User currentUser = loadCurrentUser();
         
         Message message = messageRepository.findById(messageId)
                 .orElseThrow(() -> new RuntimeException("Message not found"));
@@ -88,15 +81,21 @@ public class MessageService {
             throw new RuntimeException("Not authorized to mark this message as read");
         }
         
+        // Conditional update, so a message read twice only leaves the badge once
+        if (messageRepository.markAsRead(messageId) > 0) {
+            badgeService.messageRead(currentUser.getId());
+        }
         message.setIsRead(true);
-        return messageRepository.save(message);
+        return message;
     }
     
     public Long getUnreadCount() {
-        String username = SecurityUtil.getCurrentUsername();
-        User currentUser = userRepository.findByEmail(username)
+        return badgeService.getBadges(currentUserService.requireUserId()).messages();
+    }
+
+    // Messages are returned with their users, so the caller is loaded by id rather than proxied
+    private User loadCurrentUser() {
+        return userRepository.findById(currentUserService.requireUserId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        return messageRepository.countUnreadMessagesByReceiver(currentUser);
     }
 }
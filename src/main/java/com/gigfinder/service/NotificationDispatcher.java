@@ -0,0 +1,360 @@
+package com.gigfinder.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gigfinder.model.Notification;
+import com.gigfinder.repository.NotificationRepository;
+import com.gigfinder.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous notification pipeline. Callers enqueue events on a bounded queue and
+ * return immediately; worker threads drain it in batches, persist the inbox rows of a
+ * batch with one {@code saveAll} and push each event's STOMP payload, serialized once,
+ * to every recipient and broadcast topic. Per-user pushes go out over STOMP and any
+ * open SSE streams, numbered by the {@link UserEventLog} so reconnecting clients can
+ * replay what they missed. Stored rows bump the recipients' unread badges, which are
+ * pushed as {@code BADGES} events. When the queue is full, push-only events are dropped
+ * and counted rather than blocking the caller; events with inbox rows are saved on the
+ * caller's thread instead, so a durable notification is never lost to back-pressure.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDispatcher {
+
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final UserEventLog userEventLog;
+    private final NotificationEventStreams notificationEventStreams;
+    private final UnreadCounters unreadCounters;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${gigfinder.notifications.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${gigfinder.notifications.workers:2}")
+    private int workerCount;
+
+    @Value("${gigfinder.notifications.batch-size:100}")
+    private int batchSize;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private BlockingQueue<Dispatch> queue;
+    private ExecutorService workers;
+    private volatile boolean running;
+
+    private Counter droppedEvents;
+    private Counter overflowPersisted;
+    private Counter failedRows;
+    private Counter deliveredMessages;
+    private Counter failedBatches;
+    private Timer dispatchLag;
+
+    /**
+     * A notification for one or more users. It is stored in each recipient's inbox when
+     * {@code title} is set and pushed over STOMP when {@code type} is set.
+     */
+    public record NotificationEvent(String title, String message, String type, Map<String, Object> data) {
+
+        boolean persisted() {
+            return title != null;
+        }
+
+        boolean pushed() {
+            return type != null;
+        }
+    }
+
+    private record Dispatch(NotificationEvent event, Supplier<? extends Collection<Long>> recipients,
+                            List<String> topics, Location location, long timestamp, long enqueuedAtNanos) {
+    }
+
+    // Where a broadcast applies, for transports that deliver by location rather than topic
+    private record Location(double latitude, double longitude) {
+    }
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        droppedEvents = meterRegistry.counter("notifications.dropped");
+        overflowPersisted = meterRegistry.counter("notifications.overflow.persisted");
+        failedRows = meterRegistry.counter("notifications.persist.failed");
+        deliveredMessages = meterRegistry.counter("notifications.delivered");
+        failedBatches = meterRegistry.counter("notifications.batches.failed");
+        dispatchLag = meterRegistry.timer("notifications.dispatch.lag");
+        Gauge.builder("notifications.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+
+        running = true;
+        // Workers block on the queue, the database and the broker, so they can be virtual in virtual-thread mode
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("notification-dispatcher-", 1).factory()
+                : new CustomizableThreadFactory("notification-dispatcher-");
+        workers = Executors.newFixedThreadPool(workerCount, threadFactory);
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::drainLoop);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        workers.shutdown();
+        if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    public boolean dispatch(NotificationEvent event, Long userId) {
+        return dispatch(event, () -> List.of(userId));
+    }
+
+    /**
+     * Enqueues the event. Recipients are resolved on the dispatcher thread, so expensive
+     * lookups such as ranking nearby workers stay off the request thread. Inside a
+     * transaction the event is only enqueued once it commits.
+     */
+    public boolean dispatch(NotificationEvent event, Supplier<? extends Collection<Long>> recipients) {
+        return submit(new Dispatch(event, recipients, List.of(), null, System.currentTimeMillis(), System.nanoTime()));
+    }
+
+    /**
+     * Enqueues a push of the event to the geo-cell topics of a point, serialized once for
+     * all of them, and to the SSE streams of workers covering the point. Nothing is
+     * stored in any inbox.
+     */
+    public boolean broadcast(NotificationEvent event, List<String> topics, double latitude, double longitude) {
+        return submit(new Dispatch(event, List::of, List.copyOf(topics), new Location(latitude, longitude),
+                System.currentTimeMillis(), System.nanoTime()));
+    }
+
+    private boolean submit(Dispatch dispatch) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(dispatch);
+                }
+            });
+            return true;
+        }
+        return enqueue(dispatch);
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    private boolean enqueue(Dispatch dispatch) {
+        if (queue.offer(dispatch)) {
+            return true;
+        }
+        if (dispatch.event().persisted()) {
+            // Only the push is lost; the inbox row is written here and found on the next fetch or replay
+            overflowPersisted.increment();
+            log.warn("Notification queue full ({}), saving '{}' inbox rows without a push",
+                    queueCapacity, dispatch.event().title());
+            persist(inboxRows(dispatch, dispatch.recipients().get()));
+            return false;
+        }
+        droppedEvents.increment();
+        log.warn("Notification queue full ({}), dropping {} event", queueCapacity, dispatch.event().type());
+        return false;
+    }
+
+    private void drainLoop() {
+        List<Dispatch> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Dispatch first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                failedBatches.increment();
+                log.error("Failed to dispatch {} notification events", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Dispatch> batch) {
+        Map<Dispatch, Collection<Long>> resolved = new LinkedHashMap<>();
+        for (Dispatch dispatch : batch) {
+            try {
+                resolved.put(dispatch, dispatch.recipients().get());
+            } catch (Exception e) {
+                log.error("Failed to resolve recipients for {} notification", dispatch.event().type(), e);
+            }
+        }
+
+        // 1️⃣ Inbox rows for the whole batch in one transaction
+        List<Notification> rows = new ArrayList<>();
+        resolved.forEach((dispatch, userIds) -> rows.addAll(inboxRows(dispatch, userIds)));
+        persist(rows);
+
+        // 2️⃣ Real-time pushes, one serialization per event
+        resolved.forEach((dispatch, userIds) -> {
+            if (dispatch.event().pushed() && (!userIds.isEmpty() || !dispatch.topics().isEmpty()
+                    || dispatch.location() != null)) {
+                byte[] body = serialize(dispatch);
+                for (Long userId : userIds) {
+                    String destination = "/topic/user/" + userId;
+                    boolean sequenced = userEventLog.append(userId, body, (stream, seq) -> {
+                        messagingTemplate.send(destination, toMessage(body, stream, seq));
+                        notificationEventStreams.publish(userId, stream, seq, dispatch.timestamp(), body);
+                    });
+                    if (!sequenced) {
+                        messagingTemplate.send(destination, toMessage(body, null, null));
+                        notificationEventStreams.publish(userId, null, null, dispatch.timestamp(), body);
+                    }
+                }
+                if (!dispatch.topics().isEmpty()) {
+                    Message<byte[]> message = toMessage(body, null, null);
+                    for (String topic : dispatch.topics()) {
+                        messagingTemplate.send(topic, message);
+                    }
+                }
+                if (dispatch.location() != null) {
+                    notificationEventStreams.publishNear(dispatch.location().latitude(),
+                            dispatch.location().longitude(), body);
+                }
+                deliveredMessages.increment(userIds.size() + dispatch.topics().size());
+            }
+            dispatchLag.record(System.nanoTime() - dispatch.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+        });
+    }
+
+    private List<Notification> inboxRows(Dispatch dispatch, Collection<Long> userIds) {
+        if (!dispatch.event().persisted()) {
+            return List.of();
+        }
+        List<Notification> rows = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            rows.add(Notification.builder()
+                    .user(userRepository.getReferenceById(userId))
+                    .title(dispatch.event().title())
+                    .message(dispatch.event().message())
+                    .readStatus(false)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        return rows;
+    }
+
+    /**
+     * Saves the rows in one transaction. If that fails they are retried one per
+     * transaction, so a single bad row or a transient error does not lose the rest.
+     */
+    private void persist(List<Notification> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> notificationRepository.saveAll(rows));
+            updateBadges(rows);
+            return;
+        } catch (Exception e) {
+            failedBatches.increment();
+            log.warn("Failed to persist {} notifications in one batch, retrying one by one", rows.size(), e);
+        }
+        List<Notification> saved = new ArrayList<>(rows.size());
+        for (Notification row : rows) {
+            // Ids drawn by the rolled-back batch are discarded
+            row.setId(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> notificationRepository.save(row));
+                saved.add(row);
+            } catch (Exception e) {
+                failedRows.increment();
+                log.error("Failed to persist notification '{}' for user {}", row.getTitle(), row.getUser().getId(), e);
+            }
+        }
+        updateBadges(saved);
+    }
+
+    // One badge event per recipient for the whole batch; it goes out with the next batch
+    private void updateBadges(List<Notification> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> added = new LinkedHashMap<>();
+        for (Notification row : rows) {
+            added.merge(row.getUser().getId(), 1, Integer::sum);
+        }
+        added.forEach((userId, count) -> {
+            UnreadCounters.Badges badges = unreadCounters.adjust(userId, count, 0);
+            if (badges != null) {
+                dispatch(BadgeService.badgesEvent(badges, count, 0), userId);
+            }
+        });
+    }
+
+    private byte[] serialize(Dispatch dispatch) {
+        Map<String, Object> payload = Map.of(
+                "type", dispatch.event().type(),
+                "data", dispatch.event().data() != null ? dispatch.event().data() : Map.of(),
+                "timestamp", dispatch.timestamp());
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize notification payload", e);
+        }
+    }
+
+    private static Message<byte[]> toMessage(byte[] body, Long stream, Long seq) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        if (seq != null) {
+            headers.setNativeHeader("stream", String.valueOf(stream));
+            headers.setNativeHeader("seq", String.valueOf(seq));
+        }
+        // Immutable headers: the template copies them per destination and reuses the payload
+        return MessageBuilder.createMessage(body, headers.getMessageHeaders());
+    }
+}
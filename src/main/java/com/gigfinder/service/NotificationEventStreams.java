@@ -0,0 +1,360 @@
+package com.gigfinder.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gigfinder.dto.NotificationReplayDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events transport for the per-user pushes that also go out over STOMP.
+ * Connections are async servlet requests, so an idle one holds no thread; writes happen
+ * on a small writer pool (virtual threads in virtual-thread mode). Each connection has
+ * a bounded queue and is closed when it fills, so one slow client cannot hold events
+ * for everyone else. Event ids are {@code stream:seq:timestamp}, which lets a client
+ * resume through {@code Last-Event-ID} the same way STOMP clients use the replay endpoint.
+ * New jobs, which STOMP clients get from geo-cell topics, are sent to the streams of
+ * workers whose service circle covers the job, unsequenced like the cell broadcasts.
+ */
+@Component
+@Slf4j
+public class NotificationEventStreams {
+
+    private final NotificationReplayService notificationReplayService;
+    private final WorkerRegistry workerRegistry;
+    private final ObjectMapper objectMapper;
+    private final int queueCapacity;
+    private final int maxConnectionsPerUser;
+    private final long timeoutMillis;
+    private final long retryMillis;
+
+    private final Map<Long, Set<Connection>> connectionsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ExecutorService writers;
+    private final Counter droppedConsumers;
+    private final Counter sentEvents;
+
+    // stream and seq are null for unsequenced events
+    private record Event(String id, String data, Long stream, Long seq) {
+
+        static final Event HEARTBEAT = new Event(null, null, null, null);
+    }
+
+    private final class Connection {
+        final Long userId;
+        final SseEmitter emitter;
+        final Queue<Event> queue = new ArrayDeque<>();
+        // Live events held back until the replay has been queued, so order is kept
+        final List<Event> pending = new ArrayList<>();
+        boolean replaying = true;
+        boolean draining;
+        volatile boolean closed;
+
+        Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        // Returns false when the connection's buffer is full
+        synchronized boolean offer(Event event) {
+            if (closed) {
+                return true;
+            }
+            if (replaying) {
+                if (pending.size() >= queueCapacity) {
+                    return false;
+                }
+                pending.add(event);
+                return true;
+            }
+            if (queue.size() >= queueCapacity) {
+                return false;
+            }
+            queue.add(event);
+            scheduleDrain();
+            return true;
+        }
+
+        // Events appended between registering the connection and reading the ring are in both lists
+        synchronized void replayed(List<Event> replay, long stream, long latestSeq) {
+            queue.addAll(replay);
+            for (Event event : pending) {
+                if (event.seq() == null || event.stream() != stream || event.seq() > latestSeq) {
+                    queue.add(event);
+                }
+            }
+            pending.clear();
+            replaying = false;
+            if (queue.size() > queueCapacity) {
+                drop(this);
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining && !queue.isEmpty()) {
+                draining = true;
+                writers.execute(this::drain);
+            }
+        }
+
+        private synchronized Event next() {
+            Event event = queue.poll();
+            if (event == null) {
+                draining = false;
+            }
+            return event;
+        }
+
+        private void drain() {
+            Event event;
+            while ((event = next()) != null) {
+                if (closed) {
+                    continue;
+                }
+                try {
+                    if (event == Event.HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("keepalive"));
+                    } else {
+                        SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                                .name("notification")
+                                .data(event.data(), MediaType.APPLICATION_JSON);
+                        if (event.id() != null) {
+                            builder.id(event.id());
+                        }
+                        emitter.send(builder);
+                        sentEvents.increment();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away; the container reports it through the emitter callbacks too
+                    close(this);
+                    emitter.completeWithError(e);
+                }
+            }
+        }
+    }
+
+    public NotificationEventStreams(NotificationReplayService notificationReplayService,
+                                    WorkerRegistry workerRegistry,
+                                    ObjectMapper objectMapper,
+                                    @Value("${gigfinder.notifications.sse.queue-capacity:256}") int queueCapacity,
+                                    @Value("${gigfinder.notifications.sse.max-connections-per-user:3}") int maxConnectionsPerUser,
+                                    @Value("${gigfinder.notifications.sse.timeout-minutes:30}") long timeoutMinutes,
+                                    @Value("${gigfinder.notifications.sse.retry-millis:5000}") long retryMillis,
+                                    @Value("${gigfinder.notifications.sse.writers:4}") int writerCount,
+                                    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                    MeterRegistry meterRegistry) {
+        this.notificationReplayService = notificationReplayService;
+        this.workerRegistry = workerRegistry;
+        this.objectMapper = objectMapper;
+        this.queueCapacity = queueCapacity;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.retryMillis = retryMillis;
+        // Writes block on slow sockets, so they run off the dispatcher threads
+        this.writers = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-writer-", 1).factory())
+                : Executors.newFixedThreadPool(writerCount, new CustomizableThreadFactory("sse-writer-"));
+        this.droppedConsumers = meterRegistry.counter("notifications.sse.dropped");
+        this.sentEvents = meterRegistry.counter("notifications.sse.sent");
+        Gauge.builder("notifications.sse.connections", connectionCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        connectionsByUser.values().forEach(connections -> connections.forEach(connection -> {
+            close(connection);
+            connection.emitter.complete();
+        }));
+        writers.shutdown();
+    }
+
+    /**
+     * Opens a stream for the user. With a {@code Last-Event-ID} the events missed since
+     * then are sent first, or a {@code resync} event with the inbox delta when they are
+     * no longer buffered.
+     */
+    public SseEmitter open(Long userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection = new Connection(userId, emitter);
+        emitter.onCompletion(() -> close(connection));
+        emitter.onTimeout(() -> close(connection));
+        emitter.onError(e -> close(connection));
+
+        Set<Connection> connections = connectionsByUser.computeIfAbsent(userId, id -> new CopyOnWriteArraySet<>());
+        connections.add(connection);
+        connectionCount.incrementAndGet();
+        // Oldest connections beyond the limit are usually dead tabs or leaked retries
+        while (connections.size() > maxConnectionsPerUser) {
+            Connection oldest = connections.iterator().next();
+            close(oldest);
+            oldest.emitter.complete();
+        }
+
+        long[] position = parseEventId(lastEventId);
+        NotificationReplayDTO replay = notificationReplayService.replay(userId,
+                position != null ? position[0] : null,
+                position != null ? position[1] : 0,
+                position != null ? position[2] : null);
+
+        List<Event> events = new ArrayList<>();
+        try {
+            if (replay.isResync()) {
+                long now = System.currentTimeMillis();
+                events.add(new Event(eventId(replay.getStream(), replay.getLatestSeq(), now), resyncPayload(replay, now),
+                        replay.getStream(), replay.getLatestSeq()));
+            } else {
+                for (NotificationReplayDTO.Event event : replay.getEvents()) {
+                    events.add(new Event(eventId(replay.getStream(), event.getSeq(), timestampOf(event.getEvent())),
+                            event.getEvent(), replay.getStream(), event.getSeq()));
+                }
+            }
+            emitter.send(SseEmitter.event().reconnectTime(retryMillis).comment("connected"));
+        } catch (IOException e) {
+            close(connection);
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        connection.replayed(events, replay.getStream(), replay.getLatestSeq());
+        return emitter;
+    }
+
+    /**
+     * Queues an event for every open stream of the user; called by the dispatcher in
+     * sequence order. {@code stream} and {@code seq} are null for unsequenced events.
+     */
+    public void publish(Long userId, Long stream, Long seq, long timestamp, byte[] body) {
+        Set<Connection> connections = connectionsByUser.get(userId);
+        if (connections == null || connections.isEmpty()) {
+            return;
+        }
+        Event event = new Event(seq != null ? eventId(stream, seq, timestamp) : null,
+                new String(body, StandardCharsets.UTF_8), stream, seq);
+        offer(connections, event);
+    }
+
+    /**
+     * Queues a location-bound broadcast, such as a new job, for the open streams of the
+     * workers whose service circle covers the point.
+     */
+    public void publishNear(double latitude, double longitude, byte[] body) {
+        if (connectionsByUser.isEmpty()) {
+            return;
+        }
+        Event event = null;
+        for (WorkerRegistry.RegisteredWorker worker : workerRegistry.findCovering(latitude, longitude)) {
+            Set<Connection> connections = connectionsByUser.get(worker.userId());
+            if (connections == null || connections.isEmpty()) {
+                continue;
+            }
+            if (event == null) {
+                event = new Event(null, new String(body, StandardCharsets.UTF_8), null, null);
+            }
+            offer(connections, event);
+        }
+    }
+
+    private void offer(Set<Connection> connections, Event event) {
+        for (Connection connection : connections) {
+            if (!connection.offer(event)) {
+                drop(connection);
+            }
+        }
+    }
+
+    // Comment lines keep proxies and mobile carriers from closing idle streams
+    @Scheduled(fixedDelayString = "${gigfinder.notifications.sse.heartbeat-interval-millis:15000}")
+    public void sendHeartbeats() {
+        for (Set<Connection> connections : connectionsByUser.values()) {
+            for (Connection connection : connections) {
+                if (!connection.offer(Event.HEARTBEAT)) {
+                    drop(connection);
+                }
+            }
+        }
+    }
+
+    private void drop(Connection connection) {
+        droppedConsumers.increment();
+        log.debug("Closing slow SSE consumer for user {}", connection.userId);
+        close(connection);
+        connection.emitter.complete();
+    }
+
+    private void close(Connection connection) {
+        synchronized (connection) {
+            if (connection.closed) {
+                return;
+            }
+            connection.closed = true;
+            connection.queue.clear();
+            connection.pending.clear();
+        }
+        connectionCount.decrementAndGet();
+        connectionsByUser.computeIfPresent(connection.userId, (id, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    private static String eventId(long stream, long seq, long timestamp) {
+        return stream + ":" + seq + ":" + timestamp;
+    }
+
+    // stream, seq and timestamp, or null when the id is missing or malformed
+    private static long[] parseEventId(String eventId) {
+        if (eventId == null || eventId.isBlank()) {
+            return null;
+        }
+        String[] parts = eventId.trim().split(":");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2])};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Pushed payloads carry their dispatch time as "timestamp"
+    private long timestampOf(String payload) {
+        try {
+            return objectMapper.readTree(payload).path("timestamp").asLong(System.currentTimeMillis());
+        } catch (JsonProcessingException e) {
+            return System.currentTimeMillis();
+        }
+    }
+
+    private String resyncPayload(NotificationReplayDTO replay, long timestamp) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(Map.of(
+                "type", "RESYNC",
+                "data", Map.of("notifications", replay.getNotifications()),
+                "timestamp", timestamp));
+    }
+}
@@ -0,0 +1,68 @@
+package com.gigfinder.service;
+
+import com.gigfinder.dto.NotificationDTO;
+import com.gigfinder.dto.NotificationReplayDTO;
+import com.gigfinder.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Catches a reconnecting client up on the real-time events it missed. Events still in
+ * the user's {@link UserEventLog} ring are replayed as pushed; otherwise the client gets
+ * the inbox notifications created since its last event, read from the database.
+ */
+@Service
+public class NotificationReplayService {
+
+    private final UserEventLog userEventLog;
+    private final NotificationRepository notificationRepository;
+    private final int deltaLimit;
+    private final Counter replayed;
+    private final Counter resynced;
+
+    public NotificationReplayService(UserEventLog userEventLog,
+                                     NotificationRepository notificationRepository,
+                                     @Value("${gigfinder.notifications.replay.delta-limit:100}") int deltaLimit,
+                                     MeterRegistry meterRegistry) {
+        this.userEventLog = userEventLog;
+        this.notificationRepository = notificationRepository;
+        this.deltaLimit = deltaLimit;
+        this.replayed = meterRegistry.counter("notifications.replay", "source", "buffer");
+        this.resynced = meterRegistry.counter("notifications.replay", "source", "database");
+    }
+
+    /**
+     * @param stream   stream id from the last event the client saw, or null on first connect
+     * @param afterSeq sequence number of that event
+     * @param since    its {@code timestamp} in epoch millis, for the database fallback; null skips it
+     */
+    public NotificationReplayDTO replay(Long userId, Long stream, long afterSeq, Long since) {
+        UserEventLog.Replay replay = userEventLog.replay(userId, stream, afterSeq);
+        if (replay.complete()) {
+            replayed.increment();
+            List<NotificationReplayDTO.Event> events = replay.events().stream()
+                    .map(event -> new NotificationReplayDTO.Event(event.seq(),
+                            new String(event.body(), StandardCharsets.UTF_8)))
+                    .toList();
+            return new NotificationReplayDTO(replay.stream(), replay.latestSeq(), events, false, List.of());
+        }
+
+        // The ring wrapped or the stream is new to this node: fall back to the inbox delta
+        List<NotificationDTO> notifications = List.of();
+        if (since != null) {
+            resynced.increment();
+            LocalDateTime sinceTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(since), ZoneId.systemDefault());
+            notifications = notificationRepository.findCreatedSince(userId, sinceTime, PageRequest.of(0, deltaLimit));
+        }
+        return new NotificationReplayDTO(replay.stream(), replay.latestSeq(), List.of(), true, notifications);
+    }
+}
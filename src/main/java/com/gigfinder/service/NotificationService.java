@@ -1,23 +1,31 @@
 package com.gigfinder.service;
 
+import com.gigfinder.service.NotificationDispatcher.NotificationEvent;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.Map;
+import java.util.function.Supplier;
 
+/**
+ * Notification entry points. Everything goes through the {@link NotificationDispatcher},
+ * so these methods only enqueue and never block on the database or the broker.
+ */
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
     
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationDispatcher notificationDispatcher;
+    private final JobCellTopics jobCellTopics;
     
     public void sendJobNotification(Long userId, String type, Map<String, Object> data) {
-        messagingTemplate.convertAndSend("/topic/user/" + userId, Map.of(
-            "type", type,
-            "data", data,
-            "timestamp", System.currentTimeMillis()
-        ));
+        notificationDispatcher.dispatch(new NotificationEvent(null, null, type, data), userId);
+    }
+
+    // Stored in the user's notification inbox, no real-time push
+    public void saveNotification(Long userId, String title, String message) {
+        notificationDispatcher.dispatch(new NotificationEvent(title, message, null, null), userId);
     }
     
     public void sendJobAccepted(Long clientId, Long jobId, String workerName) {
@@ -42,11 +50,30 @@ public class NotificationService {
         ));
     }
     
-    public void sendNewJobAvailable(Long workerId, Long jobId, String jobTitle) {
-        sendJobNotification(workerId, "NEW_JOB", Map.of(
+    // Tells the worker's open apps to re-fetch /api/workers/me/job-cells
+    public void sendJobCellsChanged(Long userId) {
+        sendJobNotification(userId, "JOB_CELLS_CHANGED", Map.of(
+            "message", "Your service area has changed"
+        ));
+    }
+
+    // One event for all recipients, resolved on the dispatcher thread
+    public void sendNewJobAvailable(Supplier<? extends Collection<Long>> workerUserIds, Long jobId, String jobTitle) {
+        notificationDispatcher.dispatch(new NotificationEvent(null, null, "NEW_JOB", Map.of(
             "jobId", jobId,
             "jobTitle", jobTitle,
             "message", "New job available: " + jobTitle
-        ));
+        )), workerUserIds);
+    }
+
+    // Published once to the job's geo-cell topics; subscribers filter on the coordinates
+    public void broadcastNewJob(Long jobId, String jobTitle, double latitude, double longitude) {
+        notificationDispatcher.broadcast(new NotificationEvent(null, null, "NEW_JOB", Map.of(
+            "jobId", jobId,
+            "jobTitle", jobTitle,
+            "latitude", latitude,
+            "longitude", longitude,
+            "message", "New job available: " + jobTitle
+        )), jobCellTopics.topicsFor(latitude, longitude), latitude, longitude);
     }
 }
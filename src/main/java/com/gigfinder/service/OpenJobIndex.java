@@ -0,0 +1,139 @@
+package com.gigfinder.service;
+
+import com.gigfinder.dto.JobResponseDTO;
+import com.gigfinder.util.GeoUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-process spatial index of OPEN jobs. Jobs are bucketed into the fixed grid of
+ * integer microdegree cells from {@link GeoUtils} so a radius query only touches the
+ * cells overlapping the search circle; exact great-circle distance is computed for
+ * those candidates only.
+ */
+@Component
+@Slf4j
+public class OpenJobIndex {
+
+    private final Map<Long, IndexedJob> jobsById = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> jobIdsByCell = new ConcurrentHashMap<>();
+
+    // Jobs closed while the index is being warmed must not be re-added by the warm-up snapshot
+    private final Set<Long> removedDuringWarmUp = ConcurrentHashMap.newKeySet();
+    private volatile boolean warm = false;
+    private volatile boolean warming = false;
+
+    public record IndexedJob(long jobId, int latE6, int lngE6, JobResponseDTO job) {
+    }
+
+    public record NearbyJob(JobResponseDTO job, double distanceKm) {
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Loads the index from the given snapshot the first time it is needed.
+     * Concurrent callers block until the first warm-up has finished.
+     */
+    public synchronized void warmUp(Supplier<List<IndexedJob>> loader) {
+        if (warm) {
+            return;
+        }
+        warming = true;
+        try {
+            List<IndexedJob> snapshot = loader.get();
+            for (IndexedJob entry : snapshot) {
+                if (!removedDuringWarmUp.contains(entry.jobId())
+                        && jobsById.putIfAbsent(entry.jobId(), entry) == null) {
+                    addToCell(entry);
+                }
+            }
+            warm = true;
+            log.info("Open job index warmed with {} jobs", jobsById.size());
+        } finally {
+            warming = false;
+            removedDuringWarmUp.clear();
+        }
+    }
+
+    public void put(IndexedJob entry) {
+        IndexedJob previous = jobsById.put(entry.jobId(), entry);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+        addToCell(entry);
+    }
+
+    public void remove(Long jobId) {
+        if (warming) {
+            removedDuringWarmUp.add(jobId);
+        }
+        IndexedJob previous = jobsById.remove(jobId);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    public JobResponseDTO get(Long jobId) {
+        IndexedJob entry = jobsById.get(jobId);
+        return entry != null ? entry.job() : null;
+    }
+
+    public int size() {
+        return jobsById.size();
+    }
+
+    /**
+     * Returns every indexed job within {@code radiusKm} of the given point, nearest first.
+     */
+    public List<NearbyJob> findWithin(double latitude, double longitude, double radiusKm) {
+        List<NearbyJob> result = new ArrayList<>();
+        GeoUtils.forEachGridCell(latitude, longitude, radiusKm, key -> {
+            Set<Long> ids = jobIdsByCell.get(key);
+            if (ids == null) {
+                return;
+            }
+            for (Long id : ids) {
+                IndexedJob entry = jobsById.get(id);
+                if (entry == null) {
+                    continue;
+                }
+                double distance = GeoUtils.distanceKm(latitude, longitude,
+                        GeoUtils.fromMicroDegrees(entry.latE6()), GeoUtils.fromMicroDegrees(entry.lngE6()));
+                if (distance <= radiusKm) {
+                    result.add(new NearbyJob(entry.job(), distance));
+                }
+            }
+        });
+        result.sort(Comparator.comparingDouble(NearbyJob::distanceKm)
+                .thenComparing(nearby -> nearby.job().getId(), Comparator.reverseOrder()));
+        return result;
+    }
+
+    private void addToCell(IndexedJob entry) {
+        long key = GeoUtils.pointCellKey(entry.latE6(), entry.lngE6());
+        jobIdsByCell.compute(key, (k, ids) -> {
+            Set<Long> cellIds = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            cellIds.add(entry.jobId());
+            return cellIds;
+        });
+    }
+
+    private void removeFromCell(IndexedJob entry) {
+        long key = GeoUtils.pointCellKey(entry.latE6(), entry.lngE6());
+        jobIdsByCell.computeIfPresent(key, (k, ids) -> {
+            ids.remove(entry.jobId());
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
@@ -1,32 +1,132 @@
 package com.gigfinder.service;
 
+import com.gigfinder.service.OtpStore.VerifyResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.Random;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Issues and verifies SMS one-time passwords. Codes expire after a TTL, each phone may
+ * request a limited number of codes per window, and too many wrong guesses lock the
+ * phone out. State lives in the configured {@link OtpStore}: in memory for a single
+ * node, or the {@code otp_codes} table when several nodes serve logins.
+ */
 @Service
+@Slf4j
 public class OtpService {
-    
-    private final Map<String, String> otpStorage = new ConcurrentHashMap<>();
-    private final Random random = new Random();
-    
-    public String generateOtp(String phoneNumber) {
+
+    private final OtpStore otpStore;
+    private final SecureRandom random = new SecureRandom();
+
+    private final Duration ttl;
+    private final int maxSends;
+    private final Duration sendWindow;
+    private final int maxAttempts;
+    private final Duration lockout;
+    private final int evictionBatchSize;
+
+    private final Counter issued;
+    private final Counter sendsRejected;
+    private final Counter verified;
+    private final Counter rejected;
+    private final Counter expired;
+    private final Counter lockouts;
+    private final Counter evicted;
+
+    public OtpService(OtpStore otpStore,
+                      MeterRegistry meterRegistry,
+                      @Value("${gigfinder.otp.ttl-seconds:300}") long ttlSeconds,
+                      @Value("${gigfinder.otp.max-sends:5}") int maxSends,
+                      @Value("${gigfinder.otp.send-window-seconds:900}") long sendWindowSeconds,
+                      @Value("${gigfinder.otp.max-attempts:5}") int maxAttempts,
+                      @Value("${gigfinder.otp.lockout-seconds:900}") long lockoutSeconds,
+                      @Value("${gigfinder.otp.eviction-batch-size:500}") int evictionBatchSize) {
+        this.otpStore = otpStore;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.maxSends = maxSends;
+        this.sendWindow = Duration.ofSeconds(sendWindowSeconds);
+        this.maxAttempts = maxAttempts;
+        this.lockout = Duration.ofSeconds(lockoutSeconds);
+        this.evictionBatchSize = evictionBatchSize;
+
+        this.issued = meterRegistry.counter("otp.issued");
+        this.sendsRejected = meterRegistry.counter("otp.sends.rejected");
+        this.verified = meterRegistry.counter("otp.verified");
+        this.rejected = meterRegistry.counter("otp.rejected");
+        this.expired = meterRegistry.counter("otp.expired");
+        this.lockouts = meterRegistry.counter("otp.lockouts");
+        this.evicted = meterRegistry.counter("otp.evicted");
+        Gauge.builder("otp.store.size", otpStore, OtpStore::size).register(meterRegistry);
+    }
+
+    /**
+     * Generates and stores a new code for the phone, or returns empty when the phone
+     * is locked out or has hit its send limit.
+     */
+    public Optional<String> generateOtp(String phoneNumber) {
         String otp = String.format("%06d", random.nextInt(1000000));
-        otpStorage.put(phoneNumber, otp);
-        
+        if (!otpStore.issue(phoneNumber, hash(phoneNumber, otp), Instant.now(), ttl, maxSends, sendWindow)) {
+            sendsRejected.increment();
+            return Optional.empty();
+        }
+        issued.increment();
+
         // In real implementation, send SMS here
         System.out.println("OTP for " + phoneNumber + ": " + otp);
-        
-        return otp;
+
+        return Optional.of(otp);
+    }
+
+    public VerifyResult verifyOtp(String phoneNumber, String otp) {
+        if (otp == null) {
+            rejected.increment();
+            return VerifyResult.INVALID;
+        }
+        VerifyResult result = otpStore.verify(phoneNumber, hash(phoneNumber, otp), Instant.now(), maxAttempts, lockout);
+        switch (result) {
+            case VERIFIED -> verified.increment();
+            case EXPIRED -> expired.increment();
+            case LOCKED -> lockouts.increment();
+            default -> rejected.increment();
+        }
+        return result;
     }
-    
-    public boolean verifyOtp(String phoneNumber, String otp) {
-        String storedOtp = otpStorage.get(phoneNumber);
-        if (storedOtp != null && storedOtp.equals(otp)) {
-            otpStorage.remove(phoneNumber);
-            return true;
+
+    @Scheduled(fixedDelay = 60 * 1000L)
+    public void evictExpired() {
+        Instant now = Instant.now();
+        int total = 0;
+        int removed;
+        do {
+            removed = otpStore.evictExpired(now, sendWindow, evictionBatchSize);
+            total += removed;
+        } while (removed == evictionBatchSize);
+        if (total > 0) {
+            evicted.increment(total);
+            log.debug("Evicted {} lapsed OTP entries", total);
+        }
+    }
+
+    // Salted with the phone so equal codes for different phones never share a hash
+    private static String hash(String phoneNumber, String otp) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest((phoneNumber + ':' + otp).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
-        return false;
     }
 }
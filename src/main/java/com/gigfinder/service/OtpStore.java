@@ -0,0 +1,40 @@
+package com.gigfinder.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Backend for one-time passwords, keyed by phone number. Each operation is atomic per
+ * phone so rate limits and attempt counters hold when several nodes share the store.
+ * Codes are handed over already hashed.
+ */
+public interface OtpStore {
+
+    enum VerifyResult {
+        VERIFIED, INVALID, EXPIRED, LOCKED, NOT_FOUND
+    }
+
+    /**
+     * Replaces the phone's code and resets its attempts, unless the phone is locked out
+     * or has already been sent {@code maxSends} codes within the current send window.
+     *
+     * @return whether the code was stored
+     */
+    boolean issue(String phoneNumber, String codeHash, Instant now, Duration ttl, int maxSends, Duration sendWindow);
+
+    /**
+     * Checks the code and consumes it on success. The {@code maxAttempts}-th wrong guess
+     * discards the code and locks the phone out for {@code lockout}.
+     */
+    VerifyResult verify(String phoneNumber, String codeHash, Instant now, int maxAttempts, Duration lockout);
+
+    /**
+     * Removes up to {@code limit} entries whose code, lockout and send window have all
+     * lapsed.
+     *
+     * @return the number of entries removed
+     */
+    int evictExpired(Instant now, Duration sendWindow, int limit);
+
+    int size();
+}
@@ -0,0 +1,123 @@
+package com.gigfinder.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs BCrypt on a dedicated pool sized to the CPU count, so a burst of logins queues
+ * here instead of occupying every request thread. When the queue is full, calls fail
+ * immediately with {@link RejectedExecutionException} and the caller should answer 503.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Timer queueWait;
+    private final Counter rejected;
+    private final Counter upgraded;
+
+    /**
+     * Outcome of a login check. {@code upgradedHash} is set when the password matched
+     * but was stored with a weaker cost than the current one.
+     */
+    public record MatchResult(boolean matches, String upgradedHash) {
+    }
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${gigfinder.security.password.threads:0}") int threads,
+                                  @Value("${gigfinder.security.password.queue-capacity:64}") int queueCapacity,
+                                  @Value("${gigfinder.security.password.timeout-millis:5000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = meterRegistry.timer("password.hashing.duration", "operation", "encode");
+        this.matchTimer = meterRegistry.timer("password.hashing.duration", "operation", "matches");
+        this.queueWait = meterRegistry.timer("password.hashing.queue.wait");
+        this.rejected = meterRegistry.counter("password.hashing.rejected");
+        this.upgraded = meterRegistry.counter("password.hashing.upgraded");
+        Gauge.builder("password.hashing.queue.depth", executor.getQueue(), BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * Checks the password and, on a match, re-hashes it at the current cost if the stored
+     * hash is weaker, all in one task.
+     */
+    public MatchResult matches(String rawPassword, String storedHash) {
+        return run(() -> {
+            boolean matches = matchTimer.record(() -> passwordEncoder.matches(rawPassword, storedHash));
+            if (!matches || !passwordEncoder.upgradeEncoding(storedHash)) {
+                return new MatchResult(matches, null);
+            }
+            upgraded.increment();
+            return new MatchResult(true, encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+        });
+    }
+
+    private <T> T run(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new RejectedExecutionException("Password hashing timed out", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
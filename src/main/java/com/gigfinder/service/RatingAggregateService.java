@@ -0,0 +1,68 @@
+package com.gigfinder.service;
+
+import com.gigfinder.model.Rating;
+import com.gigfinder.repository.RatingRepository;
+import com.gigfinder.repository.WorkerProfileRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps each worker's running rating sum, count and 1-5 histogram in step with the
+ * {@code ratings} table, so averages and distributions are column reads instead of
+ * aggregate scans. A scheduled reconciliation recomputes them from {@code ratings} and
+ * repairs any worker that drifted.
+ */
+@Service
+@Slf4j
+public class RatingAggregateService {
+
+    private final RatingRepository ratingRepository;
+    private final WorkerProfileRepository workerProfileRepository;
+    private final RatingHistoryService ratingHistoryService;
+    private final WorkerRegistry workerRegistry;
+    private final Counter drifted;
+
+    public RatingAggregateService(RatingRepository ratingRepository,
+                                  WorkerProfileRepository workerProfileRepository,
+                                  RatingHistoryService ratingHistoryService,
+                                  WorkerRegistry workerRegistry,
+                                  MeterRegistry meterRegistry) {
+        this.ratingRepository = ratingRepository;
+        this.workerProfileRepository = workerProfileRepository;
+        this.ratingHistoryService = ratingHistoryService;
+        this.workerRegistry = workerRegistry;
+        this.drifted = meterRegistry.counter("ratings.aggregates.drifted");
+    }
+
+    /**
+     * Inserts the rating and folds its score into the reviewee's aggregates in the same
+     * transaction. Reviewees without a worker profile (clients) have no aggregates. The
+     * reviewee's cached recent reviews and registry entry are refreshed once the insert commits.
+     */
+    @Transactional
+    public Rating saveRating(Rating rating) {
+        Rating saved = ratingRepository.save(rating);
+        workerProfileRepository.addRating(rating.getReviewee().getId(), rating.getScore());
+        ratingHistoryService.invalidateAfterCommit(rating.getReviewee().getId());
+        workerRegistry.refreshAfterCommit(rating.getReviewee().getId());
+        return saved;
+    }
+
+    @Scheduled(cron = "${gigfinder.ratings.reconcile-cron:0 30 3 * * *}")
+    @Transactional
+    public void reconcile() {
+        int repaired = workerProfileRepository.reconcileRatingAggregates();
+        if (repaired > 0) {
+            drifted.increment(repaired);
+            // Matching ranks on the registry's copy of the averages
+            workerRegistry.loadAll();
+            log.warn("Rating aggregates drifted for {} workers; recomputed from ratings", repaired);
+        } else {
+            log.debug("Rating aggregates reconciled, no drift");
+        }
+    }
+}
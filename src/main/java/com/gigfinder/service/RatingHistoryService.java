@@ -0,0 +1,173 @@
+package com.gigfinder.service;
+
+import com.gigfinder.dto.CursorPageDTO;
+import com.gigfinder.dto.RatingResponseDTO;
+import com.gigfinder.repository.RatingRepository;
+import com.gigfinder.util.CursorCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keyset-paginated rating history of a reviewee. Each page is one projection query
+ * that joins the job title and reviewer name, so no rating entities or users are
+ * loaded. The newest-first slice shown on profiles is cached per reviewee and
+ * dropped when a new rating for them commits or after a TTL.
+ */
+@Service
+@Slf4j
+public class RatingHistoryService {
+
+    public enum Sort {
+        RECENT, SCORE;
+
+        public static Sort from(String value) {
+            if (value == null || value.isBlank()) {
+                return RECENT;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid sort: " + value);
+            }
+        }
+    }
+
+    private record RecentSlice(List<RatingResponseDTO> rows, long loadedAt) {
+    }
+
+    private final RatingRepository ratingRepository;
+    private final int recentSliceSize;
+    private final int maxCachedSlices;
+    private final long ttlMillis;
+
+    private final Map<Long, RecentSlice> recentSlices = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a slice read before a commit is not cached after it
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public RatingHistoryService(RatingRepository ratingRepository,
+                                @Value("${gigfinder.ratings.recent-cache.slice-size:10}") int recentSliceSize,
+                                @Value("${gigfinder.ratings.recent-cache.max-entries:5000}") int maxCachedSlices,
+                                @Value("${gigfinder.ratings.recent-cache.ttl-minutes:30}") long ttlMinutes,
+                                MeterRegistry meterRegistry) {
+        this.ratingRepository = ratingRepository;
+        this.recentSliceSize = recentSliceSize;
+        this.maxCachedSlices = maxCachedSlices;
+        this.ttlMillis = ttlMinutes * 60 * 1000L;
+        this.cacheHits = meterRegistry.counter("ratings.recent.cache.hits");
+        this.cacheMisses = meterRegistry.counter("ratings.recent.cache.misses");
+        Gauge.builder("ratings.recent.cache.size", recentSlices, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * One page of the reviewee's ratings, newest first or highest score first. First
+     * newest-first pages that fit in the cached slice are served from memory.
+     */
+    public CursorPageDTO<RatingResponseDTO> getHistory(Long revieweeId, Sort sort, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, JobService.MAX_PAGE_SIZE));
+        long[] position = CursorCodec.decode(cursor, 2);
+
+        List<RatingResponseDTO> rows;
+        if (sort == Sort.RECENT && position == null && pageSize <= recentSliceSize) {
+            rows = recentSlice(revieweeId);
+        } else {
+            // One extra row tells whether there is a next page without a count query
+            PageRequest limit = PageRequest.of(0, pageSize + 1);
+            rows = switch (sort) {
+                case RECENT -> position == null
+                        ? ratingRepository.findRecentHistory(revieweeId, limit)
+                        : ratingRepository.findRecentHistoryAfter(revieweeId,
+                                CursorCodec.fromEpochMicros(position[0]), position[1], limit);
+                case SCORE -> position == null
+                        ? ratingRepository.findHistoryByScore(revieweeId, limit)
+                        : ratingRepository.findHistoryByScoreAfter(revieweeId,
+                                Math.toIntExact(position[0]), position[1], limit);
+            };
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<RatingResponseDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            RatingResponseDTO last = items.get(pageSize - 1);
+            nextCursor = sort == Sort.RECENT
+                    ? CursorCodec.encode(CursorCodec.toEpochMicros(last.getCreatedAt()), last.getId())
+                    : CursorCodec.encode(last.getScore(), last.getId());
+        }
+        return new CursorPageDTO<>(List.copyOf(items), nextCursor);
+    }
+
+    /**
+     * The cached newest-first slice, as shown on a worker's profile.
+     */
+    public CursorPageDTO<RatingResponseDTO> getRecent(Long revieweeId) {
+        return getHistory(revieweeId, Sort.RECENT, null, recentSliceSize);
+    }
+
+    /**
+     * Drops the reviewee's cached slice once the current transaction commits, or
+     * immediately outside a transaction.
+     */
+    public void invalidateAfterCommit(Long revieweeId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(revieweeId);
+                }
+            });
+            return;
+        }
+        invalidate(revieweeId);
+    }
+
+    public void invalidate(Long revieweeId) {
+        invalidations.incrementAndGet();
+        recentSlices.remove(revieweeId);
+    }
+
+    @Scheduled(fixedDelay = 5 * 60 * 1000L)
+    public void evictExpiredSlices() {
+        long cutoff = System.currentTimeMillis() - ttlMillis;
+        int before = recentSlices.size();
+        recentSlices.values().removeIf(slice -> slice.loadedAt() < cutoff);
+        int evicted = before - recentSlices.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} expired recent rating slices", evicted);
+        }
+    }
+
+    private List<RatingResponseDTO> recentSlice(Long revieweeId) {
+        RecentSlice cached = recentSlices.get(revieweeId);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached.rows();
+        }
+        cacheMisses.increment();
+
+        long generation = invalidations.get();
+        List<RatingResponseDTO> rows = List.copyOf(
+                ratingRepository.findRecentHistory(revieweeId, PageRequest.of(0, recentSliceSize + 1)));
+        if (recentSlices.size() < maxCachedSlices) {
+            recentSlices.compute(revieweeId, (id, existing) -> invalidations.get() == generation
+                    ? new RecentSlice(rows, System.currentTimeMillis())
+                    : existing);
+        }
+        return rows;
+    }
+}
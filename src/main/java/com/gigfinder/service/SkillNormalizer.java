@@ -0,0 +1,143 @@
+package com.gigfinder.service;
+
+import com.gigfinder.model.Category;
+import com.gigfinder.model.SubCategory;
+import com.gigfinder.repository.CategoryRepository;
+import com.gigfinder.repository.SubCategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps free-text skills onto the category taxonomy. Text is split into phrases on
+ * commas, semicolons and newlines, each phrase into whole-word tokens, so "AC" matches
+ * "AC Repair" but never "Accounting". A phrase matches a category or sub-category when
+ * either token set contains the other.
+ */
+@Component
+@RequiredArgsConstructor
+public class SkillNormalizer {
+
+    // Suffixes folded so "plumber"/"plumbing" and "electrician"/"electrical" meet
+    private static final String[] SUFFIXES = {"ing", "ers", "er", "ian", "al", "s"};
+    private static final int MIN_STEM_LENGTH = 4;
+
+    private final CategoryRepository categoryRepository;
+    private final SubCategoryRepository subCategoryRepository;
+
+    private volatile Taxonomy taxonomy;
+
+    public record SkillRef(Integer categoryId, Long subCategoryId) {
+    }
+
+    private record Entry(Set<String> tokens, SkillRef ref) {
+    }
+
+    private record Taxonomy(List<Entry> entries, Map<Integer, Category> categories,
+                            Map<Long, SubCategory> subCategories) {
+    }
+
+    /**
+     * All taxonomy entries the text maps to.
+     */
+    public Set<SkillRef> normalize(String text) {
+        Set<SkillRef> refs = new LinkedHashSet<>();
+        for (Set<SkillRef> phrase : normalizePhrases(text)) {
+            refs.addAll(phrase);
+        }
+        return refs;
+    }
+
+    /**
+     * Taxonomy entries per phrase, skipping phrases that map to nothing.
+     */
+    public List<Set<SkillRef>> normalizePhrases(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<Entry> entries = taxonomy().entries();
+        List<Set<SkillRef>> phrases = new ArrayList<>();
+        for (String phrase : text.split("[,;\\n]")) {
+            Set<String> tokens = tokenize(phrase);
+            if (tokens.isEmpty()) {
+                continue;
+            }
+            Set<SkillRef> refs = new LinkedHashSet<>();
+            for (Entry entry : entries) {
+                if (tokens.containsAll(entry.tokens()) || entry.tokens().containsAll(tokens)) {
+                    refs.add(entry.ref());
+                }
+            }
+            if (!refs.isEmpty()) {
+                phrases.add(refs);
+            }
+        }
+        return phrases;
+    }
+
+    public Category category(Integer categoryId) {
+        return taxonomy().categories().get(categoryId);
+    }
+
+    public SubCategory subCategory(Long subCategoryId) {
+        return subCategoryId != null ? taxonomy().subCategories().get(subCategoryId) : null;
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(stem(token));
+            }
+        }
+        return tokens;
+    }
+
+    private static String stem(String token) {
+        for (String suffix : SUFFIXES) {
+            if (token.endsWith(suffix) && token.length() - suffix.length() >= MIN_STEM_LENGTH) {
+                return token.substring(0, token.length() - suffix.length());
+            }
+        }
+        return token;
+    }
+
+    // Categories only change through migrations, so the taxonomy is loaded once
+    private Taxonomy taxonomy() {
+        Taxonomy current = taxonomy;
+        if (current == null) {
+            synchronized (this) {
+                current = taxonomy;
+                if (current == null) {
+                    current = loadTaxonomy();
+                    taxonomy = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Taxonomy loadTaxonomy() {
+        List<Entry> entries = new ArrayList<>();
+        Map<Integer, Category> categories = new HashMap<>();
+        Map<Long, SubCategory> subCategories = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categories.put(category.getId(), category);
+            entries.add(new Entry(tokenize(category.getName()), new SkillRef(category.getId(), null)));
+        }
+        for (SubCategory subCategory : subCategoryRepository.findAll()) {
+            subCategories.put(subCategory.getId(), subCategory);
+            entries.add(new Entry(tokenize(subCategory.getName()),
+                    new SkillRef(subCategory.getCategory().getId(), subCategory.getId())));
+        }
+        entries.removeIf(entry -> entry.tokens().isEmpty());
+        return new Taxonomy(List.copyOf(entries), Map.copyOf(categories), Map.copyOf(subCategories));
+    }
+}
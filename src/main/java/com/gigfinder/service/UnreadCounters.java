@@ -0,0 +1,125 @@
+package com.gigfinder.service;
+
+import com.gigfinder.repository.MessageRepository;
+import com.gigfinder.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unread notification and message counts per user, so badge polls are map reads instead
+ * of COUNT queries. A user's counts are loaded from the database on first read and then
+ * adjusted as rows are inserted or marked read. Entries not read for a while are dropped;
+ * entries older than the refresh age are reloaded on the next read, which bounds drift
+ * from races with the initial load and from changes made on other nodes.
+ */
+@Component
+@Slf4j
+public class UnreadCounters {
+
+    private final NotificationRepository notificationRepository;
+    private final MessageRepository messageRepository;
+    private final long idleEvictionMillis;
+    private final long refreshMillis;
+    private final int maxUsers;
+
+    private final Map<Long, Counts> countsByUser = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public record Badges(long notifications, long messages) {
+    }
+
+    private static final class Counts {
+        final AtomicLong notifications;
+        final AtomicLong messages;
+        final long loadedAt = System.currentTimeMillis();
+        volatile long lastReadAt = loadedAt;
+
+        Counts(long notifications, long messages) {
+            this.notifications = new AtomicLong(notifications);
+            this.messages = new AtomicLong(messages);
+        }
+
+        Badges snapshot() {
+            return new Badges(notifications.get(), messages.get());
+        }
+    }
+
+    public UnreadCounters(NotificationRepository notificationRepository,
+                          MessageRepository messageRepository,
+                          @Value("${gigfinder.notifications.badges.idle-eviction-minutes:30}") long idleEvictionMinutes,
+                          @Value("${gigfinder.notifications.badges.refresh-minutes:10}") long refreshMinutes,
+                          @Value("${gigfinder.notifications.badges.max-users:100000}") int maxUsers,
+                          MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.messageRepository = messageRepository;
+        this.idleEvictionMillis = idleEvictionMinutes * 60 * 1000L;
+        this.refreshMillis = refreshMinutes * 60 * 1000L;
+        this.maxUsers = maxUsers;
+        this.hits = meterRegistry.counter("badges.cache.hits");
+        this.misses = meterRegistry.counter("badges.cache.misses");
+        Gauge.builder("badges.cache.size", countsByUser, Map::size).register(meterRegistry);
+    }
+
+    public Badges get(Long userId) {
+        long now = System.currentTimeMillis();
+        Counts counts = countsByUser.get(userId);
+        if (counts != null && now - counts.loadedAt < refreshMillis) {
+            hits.increment();
+            counts.lastReadAt = now;
+            return counts.snapshot();
+        }
+        misses.increment();
+        Counts loaded = new Counts(
+                notificationRepository.countByUserIdAndReadStatus(userId, false),
+                messageRepository.countUnreadMessagesByReceiverId(userId));
+        if (counts != null) {
+            // Replace only the stale entry; a concurrent reload may already have won
+            countsByUser.replace(userId, counts, loaded);
+            return countsByUser.getOrDefault(userId, loaded).snapshot();
+        }
+        if (countsByUser.size() >= maxUsers) {
+            return loaded.snapshot();
+        }
+        return countsByUser.computeIfAbsent(userId, id -> loaded).snapshot();
+    }
+
+    /**
+     * Applies committed changes to the user's counts. Returns the new counts, or
+     * {@code null} when the user has none in memory and nothing needs pushing.
+     */
+    public Badges adjust(Long userId, long notificationsDelta, long messagesDelta) {
+        Counts counts = countsByUser.get(userId);
+        if (counts == null || (notificationsDelta == 0 && messagesDelta == 0)) {
+            return null;
+        }
+        if (notificationsDelta != 0) {
+            counts.notifications.updateAndGet(count -> Math.max(0, count + notificationsDelta));
+        }
+        if (messagesDelta != 0) {
+            counts.messages.updateAndGet(count -> Math.max(0, count + messagesDelta));
+        }
+        return counts.snapshot();
+    }
+
+    // Idle means not read, so users with an open app keep their entry and their BADGES pushes
+    @Scheduled(fixedDelay = 60 * 1000L)
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleEvictionMillis;
+        int before = countsByUser.size();
+        countsByUser.values().removeIf(counts -> counts.lastReadAt < cutoff);
+        int evicted = before - countsByUser.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle unread counters", evicted);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.gigfinder.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Recent real-time events per user, so a client that reconnects can resume from the
+ * last sequence number it saw. Each active user has a stream with its own id and a
+ * dense sequence starting at 1, backed by a fixed-size ring of serialized payloads.
+ * Streams are node-local and dropped when idle; a client holding an unknown stream id
+ * or a sequence older than the ring has to resync from the database instead.
+ */
+@Component
+@Slf4j
+public class UserEventLog {
+
+    private final int bufferSize;
+    private final int maxStreams;
+    private final long idleEvictionMillis;
+
+    private final Map<Long, Stream> streamsByUser = new ConcurrentHashMap<>();
+    // Seeded from the clock so stream ids are not reused across restarts
+    private final AtomicLong streamIds = new AtomicLong(System.currentTimeMillis() << 16);
+
+    public record BufferedEvent(long seq, byte[] body) {
+    }
+
+    /**
+     * Outcome of a resume request: the user's current stream and latest sequence, plus
+     * the missed events when the ring still holds all of them, or {@code null} when it
+     * does not and the caller has to fall back to the database.
+     */
+    public record Replay(long stream, long latestSeq, List<BufferedEvent> events) {
+
+        public boolean complete() {
+            return events != null;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Publisher {
+        void publish(long stream, long seq);
+    }
+
+    private static final class Stream {
+        final long id;
+        final BufferedEvent[] ring;
+        // Not a monitor: publishing can block on the relay, which would pin a virtual thread
+        final ReentrantLock lock = new ReentrantLock();
+        long latestSeq;
+        volatile long lastActivity = System.currentTimeMillis();
+
+        Stream(long id, int capacity) {
+            this.id = id;
+            this.ring = new BufferedEvent[capacity];
+        }
+
+        // Oldest sequence still in the ring
+        long firstSeq() {
+            return Math.max(1, latestSeq - ring.length + 1);
+        }
+    }
+
+    public UserEventLog(@Value("${gigfinder.notifications.replay.buffer-size:64}") int bufferSize,
+                        @Value("${gigfinder.notifications.replay.max-streams:100000}") int maxStreams,
+                        @Value("${gigfinder.notifications.replay.idle-eviction-minutes:30}") long idleEvictionMinutes,
+                        MeterRegistry meterRegistry) {
+        this.bufferSize = bufferSize;
+        this.maxStreams = maxStreams;
+        this.idleEvictionMillis = idleEvictionMinutes * 60 * 1000L;
+        Gauge.builder("notifications.replay.streams", streamsByUser, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Assigns the event the user's next sequence number, buffers it and hands the
+     * position to the publisher while the stream is locked, so pushes leave in sequence
+     * order. Only this user's appends and replays wait on a slow publish. Returns {@code false}, without publishing, when the stream limit is reached.
+     */
+    public boolean append(Long userId, byte[] body, Publisher publisher) {
+        Stream stream = stream(userId);
+        if (stream == null) {
+            return false;
+        }
+        stream.lock.lock();
+        try {
+            long seq = ++stream.latestSeq;
+            stream.ring[(int) ((seq - 1) % bufferSize)] = new BufferedEvent(seq, body);
+            stream.lastActivity = System.currentTimeMillis();
+            publisher.publish(stream.id, seq);
+        } finally {
+            stream.lock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Events after {@code afterSeq} on the given stream. A missing or different stream
+     * id, or a sequence the ring has already overwritten, yields an incomplete replay.
+     */
+    public Replay replay(Long userId, Long streamId, long afterSeq) {
+        Stream stream = stream(userId);
+        if (stream == null) {
+            return new Replay(0, 0, null);
+        }
+        stream.lock.lock();
+        try {
+            stream.lastActivity = System.currentTimeMillis();
+            if (streamId == null || streamId != stream.id || afterSeq > stream.latestSeq
+                    || afterSeq < stream.firstSeq() - 1) {
+                return new Replay(stream.id, stream.latestSeq, null);
+            }
+            List<BufferedEvent> events = new ArrayList<>((int) (stream.latestSeq - afterSeq));
+            for (long seq = afterSeq + 1; seq <= stream.latestSeq; seq++) {
+                events.add(stream.ring[(int) ((seq - 1) % bufferSize)]);
+            }
+            return new Replay(stream.id, stream.latestSeq, events);
+        } finally {
+            stream.lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelay = 5 * 60 * 1000L)
+    public void evictIdleStreams() {
+        long cutoff = System.currentTimeMillis() - idleEvictionMillis;
+        int before = streamsByUser.size();
+        streamsByUser.values().removeIf(stream -> stream.lastActivity < cutoff);
+        int evicted = before - streamsByUser.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle user event streams", evicted);
+        }
+    }
+
+    private Stream stream(Long userId) {
+        Stream stream = streamsByUser.get(userId);
+        if (stream != null || streamsByUser.size() >= maxStreams) {
+            return stream;
+        }
+        return streamsByUser.computeIfAbsent(userId, id -> new Stream(streamIds.incrementAndGet(), bufferSize));
+    }
+}
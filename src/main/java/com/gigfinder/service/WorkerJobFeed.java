@@ -0,0 +1,200 @@
+package com.gigfinder.service;
+
+import com.gigfinder.dto.CursorPageDTO;
+import com.gigfinder.dto.JobResponseDTO;
+import com.gigfinder.util.CursorCodec;
+import com.gigfinder.util.GeoUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Materialized "jobs near me" feed per active worker. A feed is built from the
+ * {@link OpenJobIndex} the first time a worker reads it, then kept current
+ * incrementally: new open jobs are pushed into every feed whose circle covers them,
+ * found through a grid of the feeds' own circles, and jobs leaving OPEN are removed.
+ * Feeds follow the geometry they were built for, not the worker's availability, so a
+ * worker who goes offline and back keeps receiving jobs. Feeds idle for longer than
+ * {@link #IDLE_EVICTION_MILLIS} are dropped and rebuilt on the next read.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WorkerJobFeed {
+
+    static final long IDLE_EVICTION_MILLIS = 30 * 60 * 1000L;
+
+    private final OpenJobIndex openJobIndex;
+
+    private final Map<Long, Feed> feedsByWorker = new ConcurrentHashMap<>();
+    // Each feed is filed under every grid cell its circle overlaps, like WorkerRegistry
+    private final Map<Long, Set<Feed>> feedsByCell = new ConcurrentHashMap<>();
+    // Reverse index so a closed job is removed only from the feeds that hold it
+    private final Map<Long, Set<Long>> workersByJob = new ConcurrentHashMap<>();
+
+    private static final class Feed {
+        // Newest job first; job ids increase with creation time
+        final NavigableSet<Long> jobIds = new ConcurrentSkipListSet<>(Comparator.reverseOrder());
+        final Long workerId;
+        final int latE6;
+        final int lngE6;
+        final int radiusKm;
+        volatile long lastReadAt = System.currentTimeMillis();
+
+        Feed(Long workerId, int latE6, int lngE6, int radiusKm) {
+            this.workerId = workerId;
+            this.latE6 = latE6;
+            this.lngE6 = lngE6;
+            this.radiusKm = radiusKm;
+        }
+
+        boolean builtFor(int latE6, int lngE6, int radiusKm) {
+            return this.latE6 == latE6 && this.lngE6 == lngE6 && this.radiusKm == radiusKm;
+        }
+
+        double latitude() {
+            return GeoUtils.fromMicroDegrees(latE6);
+        }
+
+        double longitude() {
+            return GeoUtils.fromMicroDegrees(lngE6);
+        }
+
+        boolean covers(double latitude, double longitude) {
+            return GeoUtils.distanceKm(latitude(), longitude(), latitude, longitude) <= radiusKm;
+        }
+    }
+
+    public void onJobOpened(Long jobId, double latitude, double longitude) {
+        Set<Feed> feeds = feedsByCell.get(GeoUtils.pointCellKey(latitude, longitude));
+        if (feeds == null) {
+            return;
+        }
+        for (Feed feed : feeds) {
+            if (feed.covers(latitude, longitude)) {
+                feed.jobIds.add(jobId);
+                workersByJob.computeIfAbsent(jobId, id -> ConcurrentHashMap.newKeySet()).add(feed.workerId);
+            }
+        }
+    }
+
+    public void onJobClosed(Long jobId) {
+        Set<Long> workerIds = workersByJob.remove(jobId);
+        if (workerIds == null) {
+            return;
+        }
+        for (Long workerId : workerIds) {
+            Feed feed = feedsByWorker.get(workerId);
+            if (feed != null) {
+                feed.jobIds.remove(jobId);
+            }
+        }
+    }
+
+    /**
+     * Reads one page of the worker's feed, newest first. The feed is (re)built when the
+     * worker has none yet or their location or radius changed since it was built.
+     */
+    public CursorPageDTO<JobResponseDTO> read(Long workerId, double latitude, double longitude, int radiusKm,
+                                              String cursor, int size) {
+        int latE6 = GeoUtils.toMicroDegrees(latitude);
+        int lngE6 = GeoUtils.toMicroDegrees(longitude);
+
+        Feed feed = feedsByWorker.get(workerId);
+        if (feed == null || !feed.builtFor(latE6, lngE6, radiusKm)) {
+            feed = build(workerId, latitude, longitude, latE6, lngE6, radiusKm);
+        }
+        feed.lastReadAt = System.currentTimeMillis();
+
+        long[] position = CursorCodec.decode(cursor, 1);
+        NavigableSet<Long> remaining = position != null ? feed.jobIds.tailSet(position[0], false) : feed.jobIds;
+
+        List<JobResponseDTO> items = new ArrayList<>(size);
+        Iterator<Long> iterator = remaining.iterator();
+        while (iterator.hasNext() && items.size() < size) {
+            Long jobId = iterator.next();
+            JobResponseDTO job = openJobIndex.get(jobId);
+            if (job == null) {
+                // Closed before the removal reached this feed
+                iterator.remove();
+                continue;
+            }
+            items.add(job);
+        }
+
+        String nextCursor = iterator.hasNext() && !items.isEmpty()
+                ? CursorCodec.encode(items.get(items.size() - 1).getId())
+                : null;
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+
+    public int activeFeeds() {
+        return feedsByWorker.size();
+    }
+
+    @Scheduled(fixedDelay = 5 * 60 * 1000L)
+    public void evictIdleFeeds() {
+        long cutoff = System.currentTimeMillis() - IDLE_EVICTION_MILLIS;
+        int evicted = 0;
+        for (Map.Entry<Long, Feed> entry : feedsByWorker.entrySet()) {
+            if (entry.getValue().lastReadAt < cutoff && feedsByWorker.remove(entry.getKey(), entry.getValue())) {
+                detach(entry.getKey(), entry.getValue());
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} idle worker job feeds", evicted);
+        }
+    }
+
+    private Feed build(Long workerId, double latitude, double longitude, int latE6, int lngE6, int radiusKm) {
+        Feed previous = feedsByWorker.remove(workerId);
+        if (previous != null) {
+            detach(workerId, previous);
+        }
+
+        // Filed in its cells before the snapshot, so jobs opened meanwhile are pushed rather than lost
+        Feed feed = new Feed(workerId, latE6, lngE6, radiusKm);
+        GeoUtils.forEachGridCell(latitude, longitude, radiusKm, key -> feedsByCell.compute(key, (k, feeds) -> {
+            Set<Feed> cellFeeds = feeds != null ? feeds : ConcurrentHashMap.newKeySet();
+            cellFeeds.add(feed);
+            return cellFeeds;
+        }));
+        for (OpenJobIndex.NearbyJob nearby : openJobIndex.findWithin(latitude, longitude, radiusKm)) {
+            Long jobId = nearby.job().getId();
+            feed.jobIds.add(jobId);
+            workersByJob.computeIfAbsent(jobId, id -> ConcurrentHashMap.newKeySet()).add(workerId);
+        }
+        // Readers only see the feed once it holds the snapshot; a concurrent build for the same worker loses
+        Feed replaced = feedsByWorker.put(workerId, feed);
+        if (replaced != null && replaced != previous) {
+            detach(workerId, replaced);
+        }
+        return feed;
+    }
+
+    private void detach(Long workerId, Feed feed) {
+        GeoUtils.forEachGridCell(feed.latitude(), feed.longitude(), feed.radiusKm,
+                key -> feedsByCell.computeIfPresent(key, (k, feeds) -> {
+                    feeds.remove(feed);
+                    return feeds.isEmpty() ? null : feeds;
+                }));
+        for (Long jobId : feed.jobIds) {
+            workersByJob.computeIfPresent(jobId, (id, workerIds) -> {
+                workerIds.remove(workerId);
+                return workerIds.isEmpty() ? null : workerIds;
+            });
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.gigfinder.service;
+
+import com.gigfinder.dto.WorkerMatchDTO;
+import com.gigfinder.model.Job;
+import com.gigfinder.model.WorkerAvailability;
+import com.gigfinder.model.WorkerProfile;
+import com.gigfinder.model.enums.Role;
+import com.gigfinder.repository.JobRepository;
+import com.gigfinder.repository.WorkerAvailabilityRepository;
+import com.gigfinder.repository.WorkerProfileRepository;
+import com.gigfinder.security.CurrentUser;
+import com.gigfinder.util.GeoUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Ranks the workers whose service circle covers a job. Candidates are scored from the
+ * in-memory {@link WorkerRegistry} and {@link WorkerSkillIndex} with a bounded min-heap;
+ * only that shortlist is loaded from the database to apply availability windows and
+ * build the results, so the cost of a job post does not grow with the workers in the area.
+ */
+@Service
+@RequiredArgsConstructor
+public class WorkerMatchingService {
+
+    public static final int MAX_MATCHES = 100;
+
+    private record Candidate(WorkerRegistry.RegisteredWorker worker, double distance, double baseScore) {
+    }
+
+    // Score weights, summing to 1.0
+    private static final double DISTANCE_WEIGHT = 0.30;
+    private static final double SKILL_WEIGHT = 0.30;
+    private static final double RATING_WEIGHT = 0.20;
+    private static final double EXPERIENCE_WEIGHT = 0.10;
+    private static final double WINDOW_WEIGHT = 0.10;
+
+    private static final int EXPERIENCE_CAP_YEARS = 10;
+
+    // Candidates kept per requested match; availability windows only reorder within this shortlist
+    private static final int SHORTLIST_FACTOR = 2;
+
+    private final JobRepository jobRepository;
+    private final WorkerProfileRepository workerProfileRepository;
+    private final WorkerAvailabilityRepository availabilityRepository;
+    private final WorkerRegistry workerRegistry;
+    private final WorkerSkillIndex workerSkillIndex;
+    private final CurrentUserService currentUserService;
+
+    /**
+     * Ranked matches for the job, visible only to the client who posted it and to admins,
+     * so workers cannot see how they rank against each other.
+     */
+    public List<WorkerMatchDTO> findMatches(Long jobId, int limit) {
+        Job job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Job not found"));
+        CurrentUser user = currentUserService.require();
+        if (user.getRole() != Role.ADMIN && !job.getClient().getUser().getId().equals(user.getUserId())) {
+            throw new RuntimeException("Not authorized to view matches for this job");
+        }
+        return rankWorkers(job, limit);
+    }
+
+    /**
+     * Returns the best {@code limit} workers for the job, highest score first.
+     */
+    public List<WorkerMatchDTO> rankWorkers(Job job, int limit) {
+        BigDecimal lat = job.getLocationLat() != null ? job.getLocationLat() : job.getClient().getLocationLat();
+        BigDecimal lng = job.getLocationLng() != null ? job.getLocationLng() : job.getClient().getLocationLng();
+        if (lat == null || lng == null || limit <= 0) {
+            return List.of();
+        }
+        double jobLat = lat.doubleValue();
+        double jobLng = lng.doubleValue();
+
+        // 1️⃣ Candidates: available, eligible workers whose own radius covers the job
+        List<WorkerRegistry.RegisteredWorker> candidates = workerRegistry.findCovering(jobLat, jobLng);
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        // 2️⃣ Shortlist from in-memory data, scoring the availability window as unknown
+        int shortlistSize = limit * SHORTLIST_FACTOR;
+        PriorityQueue<Candidate> shortlist = new PriorityQueue<>(shortlistSize + 1,
+                Comparator.comparingDouble(Candidate::baseScore));
+        for (WorkerRegistry.RegisteredWorker worker : candidates) {
+            double distance = GeoUtils.distanceKm(jobLat, jobLng, worker.latitude(), worker.longitude());
+            double baseScore = DISTANCE_WEIGHT * (1.0 - Math.min(distance / Math.max(worker.radiusKm(), 1), 1.0))
+                    + SKILL_WEIGHT * skillScore(worker.workerId(), job)
+                    + RATING_WEIGHT * ratingScore(worker.ratingAvg())
+                    + EXPERIENCE_WEIGHT * experienceScore(worker.experienceYears());
+            shortlist.offer(new Candidate(worker, distance, baseScore));
+            if (shortlist.size() > shortlistSize) {
+                shortlist.poll();
+            }
+        }
+        List<Long> shortlistIds = shortlist.stream()
+                .map(candidate -> candidate.worker().workerId())
+                .collect(Collectors.toList());
+
+        // 3️⃣ Profiles and the availability windows for the job's day, for the shortlist only
+        Map<Long, WorkerProfile> profiles = workerProfileRepository.findAllWithUserByIdIn(shortlistIds)
+                .stream()
+                .collect(Collectors.toMap(WorkerProfile::getId, profile -> profile));
+
+        LocalDateTime when = job.getScheduledAt() != null ? job.getScheduledAt() : LocalDateTime.now();
+        Map<Long, List<WorkerAvailability>> windows = new HashMap<>();
+        for (WorkerAvailability window : availabilityRepository.findByWorkerIdInAndDayOfWeek(shortlistIds, when.getDayOfWeek())) {
+            windows.computeIfAbsent(window.getWorker().getId(), id -> new ArrayList<>()).add(window);
+        }
+
+        // 4️⃣ Final score with the window, keeping the best K
+        List<WorkerMatchDTO> ranked = new ArrayList<>(shortlist.size());
+        for (Candidate candidate : shortlist) {
+            WorkerProfile profile = profiles.get(candidate.worker().workerId());
+            if (profile == null) {
+                continue;
+            }
+            Boolean inWindow = inAvailabilityWindow(windows.get(profile.getId()), when.toLocalTime());
+            double score = candidate.baseScore() + WINDOW_WEIGHT * windowScore(inWindow);
+
+            ranked.add(WorkerMatchDTO.builder()
+                    .workerId(profile.getId())
+                    .userId(candidate.worker().userId())
+                    .name(profile.getUser().getName())
+                    .skills(profile.getSkills())
+                    .ratingAvg(profile.getRatingAvg())
+                    .experienceYears(profile.getExperienceYears())
+                    .distanceKm(Math.round(candidate.distance() * 100) / 100.0)
+                    .inAvailabilityWindow(inWindow)
+                    .score(Math.round(score * 1000) / 1000.0)
+                    .build());
+        }
+        ranked.sort(Comparator.comparingDouble(WorkerMatchDTO::getScore).reversed());
+        return ranked.size() > limit ? new ArrayList<>(ranked.subList(0, limit)) : ranked;
+    }
+
+    // 1.0 for a sub-category match, 0.7 for a category-only match
+    private double skillScore(Long workerId, Job job) {
+        if (job.getSubCategory() != null && workerSkillIndex.hasSubCategory(workerId, job.getSubCategory().getId())) {
+            return 1.0;
+        }
+        if (job.getCategory() != null && workerSkillIndex.hasCategory(workerId, job.getCategory().getId())) {
+            return 0.7;
+        }
+        return 0.0;
+    }
+
+    // Unrated workers sit in the middle so new workers still get offers
+    private static double ratingScore(BigDecimal ratingAvg) {
+        if (ratingAvg == null || ratingAvg.signum() == 0) {
+            return 0.5;
+        }
+        return Math.min(ratingAvg.doubleValue() / 5.0, 1.0);
+    }
+
+    private static double experienceScore(Integer experienceYears) {
+        if (experienceYears == null || experienceYears <= 0) {
+            return 0.0;
+        }
+        return Math.min(experienceYears, EXPERIENCE_CAP_YEARS) / (double) EXPERIENCE_CAP_YEARS;
+    }
+
+    // null means the worker has not published any windows for that day
+    private static Boolean inAvailabilityWindow(List<WorkerAvailability> windows, LocalTime time) {
+        if (windows == null || windows.isEmpty()) {
+            return null;
+        }
+        return windows.stream().anyMatch(window ->
+                Boolean.TRUE.equals(window.getIsAvailable())
+                        && !window.getStartTime().isAfter(time)
+                        && window.getEndTime().isAfter(time));
+    }
+
+    private static double windowScore(Boolean inWindow) {
+        if (inWindow == null) {
+            return 0.5;
+        }
+        return inWindow ? 1.0 : 0.0;
+    }
+}
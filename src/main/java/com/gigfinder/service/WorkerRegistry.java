@@ -0,0 +1,179 @@
+package com.gigfinder.service;
+
+import com.gigfinder.dto.WorkerLocationDTO;
+import com.gigfinder.model.WorkerProfile;
+import com.gigfinder.model.enums.VerificationStatus;
+import com.gigfinder.repository.WorkerProfileRepository;
+import com.gigfinder.util.GeoUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * In-memory registry of workers and their service circles. Each worker is filed
+ * under every grid cell its circle overlaps, so finding the workers whose own
+ * radius covers a point is a single cell lookup plus an exact distance check.
+ * Rating and experience are kept alongside so matching can rank without a query.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WorkerRegistry {
+
+    // Upper bound on a worker's service radius, keeps the number of cells per worker bounded
+    static final int MAX_RADIUS_KM = 100;
+
+    private final WorkerProfileRepository workerProfileRepository;
+
+    private final Map<Long, RegisteredWorker> workersById = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> workerIdsByCell = new ConcurrentHashMap<>();
+
+    public record RegisteredWorker(long workerId, long userId, int latE6, int lngE6,
+                                   int radiusKm, boolean available, boolean eligible,
+                                   BigDecimal ratingAvg, Integer experienceYears) {
+
+        double latitude() {
+            return GeoUtils.fromMicroDegrees(latE6);
+        }
+
+        double longitude() {
+            return GeoUtils.fromMicroDegrees(lngE6);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        List<WorkerLocationDTO> workers = workerProfileRepository.findAllWorkerLocations();
+        workers.forEach(this::register);
+        log.info("Worker registry loaded with {} workers", workersById.size());
+    }
+
+    public void register(WorkerProfile profile) {
+        register(profile.getId(), profile.getUser().getId(), profile.getLocationLat(), profile.getLocationLng(),
+                profile.getRadiusKm(), profile.getIsAvailable(), profile.getVerificationStatus(),
+                profile.getRatingAvg(), profile.getExperienceYears());
+    }
+
+    /**
+     * Re-reads the worker behind the user once the current transaction commits, for
+     * changes made with bulk SQL such as the rating aggregates.
+     */
+    public void refreshAfterCommit(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh(userId);
+                }
+            });
+            return;
+        }
+        refresh(userId);
+    }
+
+    private void refresh(Long userId) {
+        workerProfileRepository.findWorkerLocationByUserId(userId).ifPresent(this::register);
+    }
+
+    private void register(WorkerLocationDTO worker) {
+        register(worker.getWorkerId(), worker.getUserId(), worker.getLocationLat(), worker.getLocationLng(),
+                worker.getRadiusKm(), worker.getIsAvailable(), worker.getVerificationStatus(),
+                worker.getRatingAvg(), worker.getExperienceYears());
+    }
+
+    public void unregister(Long workerId) {
+        workersById.computeIfPresent(workerId, (id, previous) -> {
+            forEachCoveredCell(previous, key -> removeFromCell(key, workerId));
+            return null;
+        });
+    }
+
+    public RegisteredWorker get(Long workerId) {
+        return workersById.get(workerId);
+    }
+
+    public int size() {
+        return workersById.size();
+    }
+
+    /**
+     * Returns the available, eligible workers whose own service circle contains the given point.
+     */
+    public List<RegisteredWorker> findCovering(double latitude, double longitude) {
+        Set<Long> ids = workerIdsByCell.get(GeoUtils.pointCellKey(latitude, longitude));
+        if (ids == null) {
+            return List.of();
+        }
+
+        List<RegisteredWorker> result = new ArrayList<>();
+        for (Long id : ids) {
+            RegisteredWorker worker = workersById.get(id);
+            if (worker == null || !worker.available() || !worker.eligible()) {
+                continue;
+            }
+            double distance = GeoUtils.distanceKm(latitude, longitude, worker.latitude(), worker.longitude());
+            if (distance <= worker.radiusKm()) {
+                result.add(worker);
+            }
+        }
+        return result;
+    }
+
+    private void register(Long workerId, Long userId, BigDecimal lat, BigDecimal lng, Integer radiusKm,
+                          Boolean isAvailable, VerificationStatus status, BigDecimal ratingAvg,
+                          Integer experienceYears) {
+        if (workerId == null || userId == null) {
+            return;
+        }
+        if (lat == null || lng == null) {
+            unregister(workerId);
+            return;
+        }
+
+        int radius = Math.min(radiusKm != null ? radiusKm : 5, MAX_RADIUS_KM);
+        RegisteredWorker worker = new RegisteredWorker(workerId, userId,
+                GeoUtils.toMicroDegrees(lat), GeoUtils.toMicroDegrees(lng), radius,
+                !Boolean.FALSE.equals(isAvailable), isEligible(status), ratingAvg, experienceYears);
+
+        // Swap the cells inside compute so concurrent re-registers of one worker cannot interleave
+        workersById.compute(workerId, (id, previous) -> {
+            if (previous != null) {
+                forEachCoveredCell(previous, key -> removeFromCell(key, workerId));
+            }
+            forEachCoveredCell(worker, key -> workerIdsByCell.compute(key, (k, ids) -> {
+                Set<Long> cellIds = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                cellIds.add(workerId);
+                return cellIds;
+            }));
+            return worker;
+        });
+    }
+
+    // Both admin approval paths count: AdminService sets APPROVED, document review sets VERIFIED
+    private static boolean isEligible(VerificationStatus status) {
+        return status == VerificationStatus.APPROVED || status == VerificationStatus.VERIFIED;
+    }
+
+    private void removeFromCell(long key, Long workerId) {
+        workerIdsByCell.computeIfPresent(key, (k, ids) -> {
+            ids.remove(workerId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static void forEachCoveredCell(RegisteredWorker worker, LongConsumer action) {
+        GeoUtils.forEachGridCell(worker.latitude(), worker.longitude(), worker.radiusKm(), action);
+    }
+}
@@ -0,0 +1,99 @@
+package com.gigfinder.service;
+
+import com.gigfinder.dto.WorkerLocationDTO;
+import com.gigfinder.model.WorkerProfile;
+import com.gigfinder.repository.WorkerProfileRepository;
+import com.gigfinder.util.GeoUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class WorkerSearchService {
+
+    public static final int MAX_LIMIT = 100;
+
+    private final WorkerProfileRepository workerProfileRepository;
+    private final WorkerSkillIndex workerSkillIndex;
+
+    /**
+     * Nearest available workers first. Candidates are pruned with a bounding-box range scan,
+     * exact great-circle distance is only computed for the rows that survive it, and only the
+     * closest {@code limit} profiles are loaded in full.
+     */
+    public List<WorkerProfile> findAvailableWorkers(String category, Double latitude, Double longitude,
+                                                    Double radiusKm, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Set<Integer> categoryIds = null;
+        if (category != null && !category.isBlank()) {
+            categoryIds = workerSkillIndex.resolveCategories(category);
+            if (categoryIds.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        if (latitude == null || longitude == null || radiusKm == null) {
+            PageRequest page = PageRequest.of(0, pageSize, Sort.by("id"));
+            return categoryIds == null
+                    ? workerProfileRepository.findAvailableWorkers(page)
+                    : workerProfileRepository.findAvailableWorkersInCategories(categoryIds, page);
+        }
+        // The endpoint is public, so the radius is bounded like a worker's service radius
+        if (!(radiusKm > 0)) {
+            throw new RuntimeException("radiusKm must be greater than 0");
+        }
+        double radius = Math.min(radiusKm, WorkerRegistry.MAX_RADIUS_KM);
+        BitSet skilled = categoryIds != null ? workerSkillIndex.findWorkersInCategories(categoryIds) : null;
+
+        double latDelta = GeoUtils.latDelta(radius);
+        double lngDelta = GeoUtils.lngDelta(latitude, radius);
+
+        // 1️⃣ Index range scan: id + location only
+        List<WorkerLocationDTO> candidates = workerProfileRepository.findAvailableLocationsWithinBounds(
+                BigDecimal.valueOf(latitude - latDelta),
+                BigDecimal.valueOf(latitude + latDelta),
+                BigDecimal.valueOf(longitude - lngDelta),
+                BigDecimal.valueOf(longitude + lngDelta));
+
+        // 2️⃣ Skill bitmap and exact distance on the survivors, keep the nearest N
+        Map<Long, Double> distances = new HashMap<>();
+        for (WorkerLocationDTO candidate : candidates) {
+            if (skilled != null && !skilled.get(Math.toIntExact(candidate.getWorkerId()))) {
+                continue;
+            }
+            double distance = GeoUtils.distanceKm(latitude, longitude,
+                    candidate.getLocationLat().doubleValue(), candidate.getLocationLng().doubleValue());
+            if (distance <= radius) {
+                distances.put(candidate.getWorkerId(), distance);
+            }
+        }
+        List<Long> nearestIds = distances.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .limit(pageSize)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        if (nearestIds.isEmpty()) {
+            return List.of();
+        }
+
+        // 3️⃣ Load full profiles for the winners only, in distance order
+        Map<Long, WorkerProfile> profiles = workerProfileRepository.findAllWithUserByIdIn(nearestIds)
+                .stream()
+                .collect(Collectors.toMap(WorkerProfile::getId, profile -> profile));
+        return nearestIds.stream()
+                .map(profiles::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,201 @@
+package com.gigfinder.service;
+
+import com.gigfinder.dto.WorkerSkillDTO;
+import com.gigfinder.model.WorkerProfile;
+import com.gigfinder.model.WorkerSkill;
+import com.gigfinder.repository.WorkerProfileRepository;
+import com.gigfinder.repository.WorkerSkillRepository;
+import com.gigfinder.service.SkillNormalizer.SkillRef;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index from skill to workers. The normalized skills are persisted in
+ * {@code worker_skills} and mirrored in memory as one bitmap of worker ids per
+ * category and per sub-category, so skill filters are bitmap unions and intersections.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WorkerSkillIndex {
+
+    private final SkillNormalizer skillNormalizer;
+    private final WorkerSkillRepository workerSkillRepository;
+    private final WorkerProfileRepository workerProfileRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, BitSet> workersByCategory = new HashMap<>();
+    private final Map<Long, BitSet> workersBySubCategory = new HashMap<>();
+    private final Map<Long, Set<SkillRef>> skillsByWorker = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void loadAll() {
+        Map<Long, Set<SkillRef>> loaded = new HashMap<>();
+        for (WorkerSkillDTO skill : workerSkillRepository.findAllSkillIds()) {
+            loaded.computeIfAbsent(skill.getWorkerId(), id -> new HashSet<>())
+                    .add(new SkillRef(skill.getCategoryId(), skill.getSubCategoryId()));
+        }
+        loaded.forEach(this::replace);
+
+        // Profiles saved before the skill table existed
+        List<WorkerProfile> unindexed = workerProfileRepository.findWithUnindexedSkills();
+        unindexed.forEach(this::index);
+        log.info("Worker skill index loaded for {} workers ({} backfilled)", skillsByWorker.size(), unindexed.size());
+    }
+
+    /**
+     * Re-normalizes the worker's free-text skills and replaces their rows and postings.
+     */
+    @Transactional
+    public void index(WorkerProfile profile) {
+        Set<SkillRef> skills = skillNormalizer.normalize(profile.getSkills());
+        workerSkillRepository.deleteByWorkerId(profile.getId());
+        workerSkillRepository.saveAll(skills.stream()
+                .map(skill -> WorkerSkill.builder()
+                        .worker(profile)
+                        .category(skillNormalizer.category(skill.categoryId()))
+                        .subCategory(skillNormalizer.subCategory(skill.subCategoryId()))
+                        .build())
+                .toList());
+        replace(profile.getId(), skills);
+    }
+
+    /**
+     * Workers matching every phrase of the query, where a phrase matches any of the
+     * categories or sub-categories it normalizes to.
+     */
+    public BitSet findWorkers(String query) {
+        List<Set<SkillRef>> phrases = skillNormalizer.normalizePhrases(query);
+        if (phrases.isEmpty()) {
+            return new BitSet();
+        }
+        lock.readLock().lock();
+        try {
+            BitSet result = null;
+            for (Set<SkillRef> phrase : phrases) {
+                BitSet matches = new BitSet();
+                for (SkillRef ref : phrase) {
+                    BitSet posting = ref.subCategoryId() != null
+                            ? workersBySubCategory.get(ref.subCategoryId())
+                            : workersByCategory.get(ref.categoryId());
+                    if (posting != null) {
+                        matches.or(posting);
+                    }
+                }
+                if (result == null) {
+                    result = matches;
+                } else {
+                    result.and(matches);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Workers with any skill in the given categories.
+     */
+    public BitSet findWorkersInCategories(Collection<Integer> categoryIds) {
+        lock.readLock().lock();
+        try {
+            BitSet result = new BitSet();
+            for (Integer categoryId : categoryIds) {
+                BitSet posting = workersByCategory.get(categoryId);
+                if (posting != null) {
+                    result.or(posting);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Category ids the free text maps to, for category filters.
+     */
+    public Set<Integer> resolveCategories(String text) {
+        Set<Integer> categoryIds = new HashSet<>();
+        for (SkillRef ref : skillNormalizer.normalize(text)) {
+            categoryIds.add(ref.categoryId());
+        }
+        return categoryIds;
+    }
+
+    public boolean hasCategory(Long workerId, Integer categoryId) {
+        return contains(workersByCategory, categoryId, workerId);
+    }
+
+    public boolean hasSubCategory(Long workerId, Long subCategoryId) {
+        return contains(workersBySubCategory, subCategoryId, workerId);
+    }
+
+    private <K> boolean contains(Map<K, BitSet> postings, K key, Long workerId) {
+        lock.readLock().lock();
+        try {
+            BitSet posting = postings.get(key);
+            return posting != null && posting.get(bit(workerId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void replace(Long workerId, Set<SkillRef> skills) {
+        int bit = bit(workerId);
+        lock.writeLock().lock();
+        try {
+            Set<SkillRef> previous = skillsByWorker.remove(workerId);
+            if (previous != null) {
+                for (SkillRef ref : previous) {
+                    clear(workersByCategory, ref.categoryId(), bit);
+                    if (ref.subCategoryId() != null) {
+                        clear(workersBySubCategory, ref.subCategoryId(), bit);
+                    }
+                }
+            }
+            if (skills.isEmpty()) {
+                return;
+            }
+            for (SkillRef ref : skills) {
+                workersByCategory.computeIfAbsent(ref.categoryId(), id -> new BitSet()).set(bit);
+                if (ref.subCategoryId() != null) {
+                    workersBySubCategory.computeIfAbsent(ref.subCategoryId(), id -> new BitSet()).set(bit);
+                }
+            }
+            skillsByWorker.put(workerId, Set.copyOf(skills));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static <K> void clear(Map<K, BitSet> postings, K key, int bit) {
+        BitSet posting = postings.get(key);
+        if (posting != null) {
+            posting.clear(bit);
+            if (posting.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static int bit(Long workerId) {
+        return Math.toIntExact(workerId);
+    }
+}
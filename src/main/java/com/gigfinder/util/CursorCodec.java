@@ -0,0 +1,57 @@
+package com.gigfinder.util;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions as opaque, URL-safe cursor tokens.
+ */
+public final class CursorCodec {
+
+    private CursorCodec() {
+    }
+
+    public static String encode(long... values) {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * values.length);
+        for (long value : values) {
+            buffer.putLong(value);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Returns the decoded values, or {@code null} for a blank cursor.
+     */
+    public static long[] decode(String cursor, int expectedValues) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        if (bytes.length != Long.BYTES * expectedValues) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long[] values = new long[expectedValues];
+        for (int i = 0; i < expectedValues; i++) {
+            values[i] = buffer.getLong();
+        }
+        return values;
+    }
+
+    // Timestamps travel as epoch microseconds, the precision PostgreSQL stores
+    public static long toEpochMicros(LocalDateTime timestamp) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), timestamp);
+    }
+
+    public static LocalDateTime fromEpochMicros(long epochMicros) {
+        return LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC).plus(epochMicros, ChronoUnit.MICROS);
+    }
+}
@@ -0,0 +1,99 @@
+package com.gigfinder.util;
+
+import java.math.BigDecimal;
+import java.util.function.LongConsumer;
+
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+    public static final double KM_PER_DEGREE_LAT = 111.0; // 1 degree latitude ≈ 111 km
+
+    // Grid cells used by the in-memory spatial indexes: 0.05 degrees ≈ 5.5 km per edge at the equator
+    public static final int GRID_CELL_MICRO_DEGREES = 50_000;
+    // Longitude cells around the globe; longitude cell indexes wrap across the antimeridian
+    public static final int LNG_GRID_CELLS = 360_000_000 / GRID_CELL_MICRO_DEGREES;
+
+    private static final double MICRO = 1_000_000.0;
+
+    private GeoUtils() {
+    }
+
+    public static int toMicroDegrees(double degrees) {
+        return (int) Math.round(degrees * MICRO);
+    }
+
+    public static int toMicroDegrees(BigDecimal degrees) {
+        return toMicroDegrees(degrees.doubleValue());
+    }
+
+    public static double fromMicroDegrees(int microDegrees) {
+        return microDegrees / MICRO;
+    }
+
+    // Great-circle (haversine) distance between two points in kilometres
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    // Half-height of the bounding box around a circle, in degrees
+    public static double latDelta(double radiusKm) {
+        return radiusKm / KM_PER_DEGREE_LAT;
+    }
+
+    // Half-width of the bounding box around a circle, in degrees
+    public static double lngDelta(double latitude, double radiusKm) {
+        double cos = Math.cos(Math.toRadians(latitude));
+        return radiusKm / (KM_PER_DEGREE_LAT * Math.max(cos, 0.01));
+    }
+
+    public static int gridCell(int microDegrees) {
+        return Math.floorDiv(microDegrees, GRID_CELL_MICRO_DEGREES);
+    }
+
+    public static int gridCell(double degrees) {
+        return gridCell(toMicroDegrees(degrees));
+    }
+
+    public static long gridCellKey(int latCell, int lngCell) {
+        return ((long) latCell << 32) | (lngCell & 0xffffffffL);
+    }
+
+    // Key of the grid cell containing the point
+    public static long pointCellKey(int latE6, int lngE6) {
+        return gridCellKey(gridCell(latE6), wrapLngCell(gridCell(lngE6)));
+    }
+
+    public static long pointCellKey(double latitude, double longitude) {
+        return pointCellKey(toMicroDegrees(latitude), toMicroDegrees(longitude));
+    }
+
+    // Maps a longitude cell into [-180, 180) so cells east of 180° are the ones west of -180°
+    public static int wrapLngCell(int lngCell) {
+        return Math.floorMod(lngCell + LNG_GRID_CELLS / 2, LNG_GRID_CELLS) - LNG_GRID_CELLS / 2;
+    }
+
+    /**
+     * Passes the key of every grid cell overlapping the bounding box of the circle to the
+     * action. Rows stop at the poles and columns wrap, so each cell is visited at most once
+     * however large the radius is; callers still bound the radius to keep the count small.
+     */
+    public static void forEachGridCell(double latitude, double longitude, double radiusKm, LongConsumer action) {
+        double latDelta = latDelta(radiusKm);
+        double lngDelta = Math.min(lngDelta(latitude, radiusKm), 180.0);
+
+        int minLatCell = gridCell(Math.max(latitude - latDelta, -90.0));
+        int maxLatCell = gridCell(Math.min(latitude + latDelta, 90.0));
+        int minLngCell = gridCell(longitude - lngDelta);
+        int lngSpan = Math.min(gridCell(longitude + lngDelta) - minLngCell + 1, LNG_GRID_CELLS);
+        for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (int offset = 0; offset < lngSpan; offset++) {
+                action.accept(gridCellKey(latCell, wrapLngCell(minLngCell + offset)));
+            }
+        }
+    }
+}
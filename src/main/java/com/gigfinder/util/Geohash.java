@@ -0,0 +1,95 @@
+package com.gigfinder.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Standard base-32 geohash cells. A precision-p hash has 5p bits interleaved from
+ * longitude (first) and latitude, so the cells of one precision form a regular grid.
+ */
+public final class Geohash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private Geohash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        char[] hash = new char[precision];
+        boolean evenBit = true;
+        int bit = 0;
+        int index = 0;
+        for (int i = 0; i < precision; ) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    index = (index << 1) | 1;
+                    minLng = mid;
+                } else {
+                    index <<= 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    index = (index << 1) | 1;
+                    minLat = mid;
+                } else {
+                    index <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash[i++] = BASE32[index];
+                bit = 0;
+                index = 0;
+            }
+        }
+        return new String(hash);
+    }
+
+    // Cell height in degrees at the given precision
+    public static double cellHeight(int precision) {
+        return 180.0 / (1L << (5 * precision / 2));
+    }
+
+    // Cell width in degrees at the given precision
+    public static double cellWidth(int precision) {
+        return 360.0 / (1L << (5 * precision - 5 * precision / 2));
+    }
+
+    /**
+     * Cells overlapping the bounding box of the circle, or {@code null} when there would
+     * be more than {@code maxCells} of them.
+     */
+    public static List<String> covering(double latitude, double longitude, double radiusKm, int precision, int maxCells) {
+        double height = cellHeight(precision);
+        double width = cellWidth(precision);
+        double latDelta = GeoUtils.latDelta(radiusKm);
+        double lngDelta = Math.min(GeoUtils.lngDelta(latitude, radiusKm), 180.0);
+
+        long minRow = (long) Math.floor((Math.max(latitude - latDelta, -90.0) + 90.0) / height);
+        long maxRow = (long) Math.floor((Math.min(latitude + latDelta, 90.0 - 1e-9) + 90.0) / height);
+        long minCol = (long) Math.floor((longitude - lngDelta + 180.0) / width);
+        long maxCol = (long) Math.floor((longitude + lngDelta + 180.0) / width);
+        long columns = Math.round(360.0 / width);
+        long colSpan = Math.min(maxCol - minCol + 1, columns);
+
+        if ((maxRow - minRow + 1) * colSpan > maxCells) {
+            return null;
+        }
+        List<String> cells = new ArrayList<>();
+        for (long row = minRow; row <= maxRow; row++) {
+            double cellLat = -90.0 + (row + 0.5) * height;
+            for (long col = minCol; col < minCol + colSpan; col++) {
+                // Wrap across the antimeridian
+                double cellLng = -180.0 + (Math.floorMod(col, columns) + 0.5) * width;
+                cells.add(encode(cellLat, cellLng, precision));
+            }
+        }
+        return cells;
+    }
+}
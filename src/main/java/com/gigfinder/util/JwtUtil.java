@@ -1,67 +1,165 @@
 package com.gigfinder.util;
 
+import com.gigfinder.model.enums.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.gigfinder.security.CurrentUser;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
 
     private final String secret = "YourSecretKey123456789012345678901234567890123456789012345678901234567890";
     private final SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    private final JwtParser parser = Jwts.parser().verifyWith(key).build();
 
-    // Generate a JWT token
-    public String generateToken(String email, String role) {
+    // Recently verified tokens, keyed by SHA-256 digest, so hot tokens skip signature checks until they expire.
+    // Size-bounded with eviction on insert, so after a login burst new tokens still get cached.
+    private final Cache<String, Claims> verifiedTokens;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public JwtUtil(@Value("${gigfinder.security.token-cache.max-entries:10000}") int maxCachedTokens,
+                   MeterRegistry meterRegistry) {
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxCachedTokens)
+                .expireAfter(new TokenExpiry())
+                .build();
+        this.cacheHits = meterRegistry.counter("jwt.cache.hits");
+        this.cacheMisses = meterRegistry.counter("jwt.cache.misses");
+        Gauge.builder("jwt.cache.size", verifiedTokens, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    // Token carrying the caller's ids so requests can be authenticated without a user lookup
+    public String generateToken(CurrentUser user) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", role);
+        claims.put("role", user.getRole().name());
+        claims.put("uid", user.getUserId());
+        if (user.getWorkerProfileId() != null) {
+            claims.put("wid", user.getWorkerProfileId());
+        }
+        if (user.getClientProfileId() != null) {
+            claims.put("cid", user.getClientProfileId());
+        }
+        return buildToken(user.getEmail(), claims);
+    }
+
+    /**
+     * Principal described by the token's claims, or {@code null} for tokens issued
+     * before the ids were added to them.
+     */
+    public CurrentUser toCurrentUser(Claims claims) {
+        Long userId = claims.get("uid", Long.class);
+        String role = claims.get("role", String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        return new CurrentUser(userId, claims.getSubject(), Role.valueOf(role),
+                claims.get("wid", Long.class), claims.get("cid", Long.class), null);
+    }
+
+    private String buildToken(String subject, Map<String, Object> claims) {
         return Jwts.builder()
                 .claims(claims)
-                .subject(email)
+                .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
                 .signWith(key)
                 .compact();
     }
 
-    // ✅ extractUsername used by the filter
+    /**
+     * Verifies the token once and returns its claims, or {@code null} when the token is
+     * malformed, forged or expired.
+     */
+    public Claims parseVerifiedClaims(String token) {
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && !isExpired(cached)) {
+            cacheHits.increment();
+            return cached;
+        }
+        cacheMisses.increment();
+
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(digest, claims);
+        }
+        return claims;
+    }
+
     public String extractUsername(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        Claims claims = parseVerifiedClaims(token);
+        return claims != null ? claims.getSubject() : null;
     }
 
     public String extractRole(String token) {
-        return (String) Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("role");
+        Claims claims = parseVerifiedClaims(token);
+        return claims != null ? claims.get("role", String.class) : null;
     }
 
-    // ✅ validateToken used by the filter
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        Claims claims = parseVerifiedClaims(token);
+        return claims != null && userDetails.getUsername().equals(claims.getSubject());
+    }
+
+    private static boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
+    }
+
+    // Each cached token lives until its own expiration claim
+    private static final class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 
-    private boolean isTokenExpired(String token) {
-        Date expiration = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getExpiration();
-        return expiration.before(new Date());
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
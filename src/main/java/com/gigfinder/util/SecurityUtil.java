@@ -1,5 +1,6 @@
 package com.gigfinder.util;
 
+import com.gigfinder.security.CurrentUser;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,4 +14,12 @@ public class SecurityUtil {
         }
         return null;
     }
+
+    public static CurrentUser getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CurrentUser) {
+            return (CurrentUser) authentication.getPrincipal();
+        }
+        return null;
+    }
 }
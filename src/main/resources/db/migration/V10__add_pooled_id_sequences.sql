@@ -0,0 +1,19 @@
+-- Pooled id sequences for the high-volume tables so Hibernate can batch their inserts.
+-- Each nextval reserves a block of 50 ids; sequences start one block past the current max id.
+DO $$
+DECLARE
+    t TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['notifications', 'ratings', 'messages', 'worker_availability', 'worker_skills'] LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', t || '_seq');
+        -- messages and worker_availability are created by Hibernate and may not exist yet
+        IF to_regclass(t) IS NOT NULL THEN
+            EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 50, false)', t || '_seq', t);
+        END IF;
+    END LOOP;
+END $$;
+
+-- Plain SQL inserts draw from the same sequences, each taking the top id of its own block
+ALTER TABLE notifications ALTER COLUMN id SET DEFAULT nextval('notifications_seq');
+ALTER TABLE ratings ALTER COLUMN id SET DEFAULT nextval('ratings_seq');
+ALTER TABLE worker_skills ALTER COLUMN id SET DEFAULT nextval('worker_skills_seq');
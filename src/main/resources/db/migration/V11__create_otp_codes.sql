@@ -0,0 +1,14 @@
+-- One-time passwords shared across nodes; one row per phone holds the current code,
+-- its attempt counter, the send-rate window and any lockout
+CREATE TABLE IF NOT EXISTS otp_codes (
+    phone_number VARCHAR(20) PRIMARY KEY,
+    code_hash VARCHAR(64),
+    expires_at TIMESTAMP NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    send_count INT NOT NULL DEFAULT 0,
+    window_started_at TIMESTAMP NOT NULL,
+    locked_until TIMESTAMP
+);
+
+-- Sweeper scans for lapsed rows
+CREATE INDEX IF NOT EXISTS idx_otp_codes_expires_at ON otp_codes(expires_at);
@@ -0,0 +1,32 @@
+-- Running rating aggregates per worker, maintained on each rating insert
+ALTER TABLE workers ADD COLUMN IF NOT EXISTS rating_sum BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE workers ADD COLUMN IF NOT EXISTS rating_count INT NOT NULL DEFAULT 0;
+ALTER TABLE workers ADD COLUMN IF NOT EXISTS rating_1_count INT NOT NULL DEFAULT 0;
+ALTER TABLE workers ADD COLUMN IF NOT EXISTS rating_2_count INT NOT NULL DEFAULT 0;
+ALTER TABLE workers ADD COLUMN IF NOT EXISTS rating_3_count INT NOT NULL DEFAULT 0;
+ALTER TABLE workers ADD COLUMN IF NOT EXISTS rating_4_count INT NOT NULL DEFAULT 0;
+ALTER TABLE workers ADD COLUMN IF NOT EXISTS rating_5_count INT NOT NULL DEFAULT 0;
+
+-- Backfill from existing ratings
+UPDATE workers w SET
+    rating_sum = a.score_sum,
+    rating_count = a.score_count,
+    rating_1_count = a.ones,
+    rating_2_count = a.twos,
+    rating_3_count = a.threes,
+    rating_4_count = a.fours,
+    rating_5_count = a.fives,
+    rating_avg = ROUND(CAST(a.score_sum AS NUMERIC) / a.score_count, 2)
+FROM (
+    SELECT reviewee_id,
+           SUM(score) AS score_sum,
+           COUNT(*) AS score_count,
+           COUNT(*) FILTER (WHERE score = 1) AS ones,
+           COUNT(*) FILTER (WHERE score = 2) AS twos,
+           COUNT(*) FILTER (WHERE score = 3) AS threes,
+           COUNT(*) FILTER (WHERE score = 4) AS fours,
+           COUNT(*) FILTER (WHERE score = 5) AS fives
+    FROM ratings
+    GROUP BY reviewee_id
+) a
+WHERE w.user_id = a.reviewee_id;
@@ -0,0 +1,3 @@
+-- Keyset pagination of a reviewee's ratings, newest first and by score
+CREATE INDEX IF NOT EXISTS idx_ratings_reviewee_created ON ratings(reviewee_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_ratings_reviewee_score ON ratings(reviewee_id, score DESC, id DESC);
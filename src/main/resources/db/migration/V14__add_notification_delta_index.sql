@@ -0,0 +1,2 @@
+-- Notifications created after a point in time, for clients resyncing after a reconnect
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created ON notifications(user_id, created_at, id);
@@ -0,0 +1,10 @@
+-- Unread counts per user, loaded when a user's badge counters are first read
+CREATE INDEX IF NOT EXISTS idx_notifications_user_read ON notifications(user_id, read_status);
+
+-- messages is created by Hibernate and may not exist yet; the entity declares the same index
+DO $$
+BEGIN
+    IF to_regclass('messages') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_messages_receiver_read ON messages(receiver_id, is_read);
+    END IF;
+END $$;
@@ -0,0 +1,11 @@
+-- Normalized worker skills: free-text skills mapped onto the category taxonomy
+CREATE TABLE IF NOT EXISTS worker_skills (
+    id BIGSERIAL PRIMARY KEY,
+    worker_id BIGINT NOT NULL REFERENCES workers(id) ON DELETE CASCADE,
+    category_id INT NOT NULL REFERENCES categories(id) ON DELETE CASCADE,
+    sub_category_id INT REFERENCES sub_categories(id) ON DELETE CASCADE,
+    CONSTRAINT uq_worker_skill UNIQUE (worker_id, category_id, sub_category_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_worker_skills_category ON worker_skills(category_id, worker_id);
+CREATE INDEX IF NOT EXISTS idx_worker_skills_sub_category ON worker_skills(sub_category_id, worker_id);
@@ -0,0 +1,4 @@
+-- Keyset pagination indexes: job listings are read newest first on (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_jobs_status_created_id ON jobs(status, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_jobs_client_created_id ON jobs(client_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_jobs_created_id ON jobs(created_at DESC, id DESC);